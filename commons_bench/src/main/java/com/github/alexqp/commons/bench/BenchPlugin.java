@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.bench;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.logging.Logger;
+
+/**
+ * A plugin which only provides a data folder, so DataHandler can be used without a running server.
+ * <p>All other server calls return default values. Benchmarks must not rely on them.
+ */
+public final class BenchPlugin extends JavaPlugin {
+
+    private static final Logger LOGGER = Logger.getLogger("CommonsBench");
+
+    @SuppressWarnings("deprecation")
+    private BenchPlugin(@NotNull final File dataFolder) {
+        super(new JavaPluginLoader(createServer()), new PluginDescriptionFile("CommonsBench", "1.0", BenchPlugin.class.getName()),
+                dataFolder, new File(dataFolder, "CommonsBench.jar"));
+    }
+
+    /**
+     * Creates a plugin with a new temporary data folder.
+     * @return the plugin
+     * @throws IOException if the folder could not be created
+     */
+    @NotNull
+    public static BenchPlugin create() throws IOException {
+        return new BenchPlugin(Files.createTempDirectory("commons-bench").toFile());
+    }
+
+    /**
+     * Deletes the data folder including all contents.
+     * @throws IOException if the folder could not be deleted
+     */
+    public void deleteDataFolder() throws IOException {
+        deleteRecursively(this.getDataFolder().toPath());
+    }
+
+    static void deleteRecursively(@NotNull final Path directory) throws IOException {
+        if (!Files.exists(directory))
+            return;
+
+        Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @NotNull
+    private static Server createServer() {
+        return (Server) Proxy.newProxyInstance(Server.class.getClassLoader(), new Class<?>[] {Server.class}, (proxy, method, args) -> {
+            if (method.getName().equals("getLogger"))
+                return LOGGER;
+            Class<?> type = method.getReturnType();
+            if (!type.isPrimitive() || type == void.class)
+                return null;
+            if (type == boolean.class)
+                return false;
+            if (type == char.class)
+                return '\0';
+            if (type == long.class)
+                return 0L;
+            if (type == float.class)
+                return 0F;
+            if (type == double.class)
+                return 0D;
+            return type == int.class ? 0 : type == short.class ? (short) 0 : (byte) 0;
+        });
+    }
+}
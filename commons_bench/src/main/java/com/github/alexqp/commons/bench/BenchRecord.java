@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.bench;
+
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+import org.bukkit.configuration.serialization.SerializableAs;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A small ConfigurationSerializable resembling typical per-player records.
+ */
+@SerializableAs("BenchRecord")
+public final class BenchRecord implements ConfigurationSerializable {
+
+    static {
+        ConfigurationSerialization.registerClass(BenchRecord.class);
+    }
+
+    private final String id;
+    private final String name;
+    private final int level;
+    private final double score;
+
+    public BenchRecord(@NotNull final String id, @NotNull final String name, final int level, final double score) {
+        this.id = id;
+        this.name = name;
+        this.level = level;
+        this.score = score;
+    }
+
+    /**
+     * Makes sure the class is registered for deserialization.
+     */
+    static void register() {}
+
+    @NotNull
+    public static BenchRecord deserialize(@NotNull final Map<String, Object> map) {
+        return new BenchRecord((String) map.get("id"), (String) map.get("name"), ((Number) map.get("level")).intValue(),
+                ((Number) map.get("score")).doubleValue());
+    }
+
+    @NotNull
+    @Override
+    public Map<String, Object> serialize() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", id);
+        map.put("name", name);
+        map.put("level", level);
+        map.put("score", score);
+        return map;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.bench;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates reproducible data files of a given size.
+ * <p>Sizes are estimated from the emitted lines and match the saved file roughly, not byte-exact.
+ */
+final class DataGenerator {
+
+    private static final long SEED = 0x5EEDL;
+    private static final char[] LETTERS = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    /**
+     * The shape of the generated tree.
+     */
+    enum Shape {
+        /**
+         * All values are direct children of the root.
+         */
+        FLAT,
+        /**
+         * Values are spread over a tree of {@link Shape#DEPTH} section levels with {@link Shape#FANOUT} children each.
+         */
+        DEEP;
+
+        static final int DEPTH = 6;
+        static final int FANOUT = 4;
+    }
+
+    private DataGenerator() {}
+
+    /**
+     * Parses a size like "64KB" or "50MB".
+     * @param size the size
+     * @return the size in bytes
+     * @throws IllegalArgumentException if the size is malformed
+     */
+    static long parseSize(@NotNull final String size) throws IllegalArgumentException {
+        String upper = size.trim().toUpperCase();
+        if (upper.endsWith("MB"))
+            return Long.parseLong(upper.substring(0, upper.length() - 2).trim()) * 1024 * 1024;
+        if (upper.endsWith("KB"))
+            return Long.parseLong(upper.substring(0, upper.length() - 2).trim()) * 1024;
+        if (upper.endsWith("B"))
+            return Long.parseLong(upper.substring(0, upper.length() - 1).trim());
+        throw new IllegalArgumentException("malformed size " + size);
+    }
+
+    /**
+     * Generates a file of mixed scalars and string lists.
+     * @param shape the shape
+     * @param targetBytes the approximate size of the saved file
+     * @return the generated file
+     */
+    @NotNull
+    static YamlConfiguration generate(@NotNull final Shape shape, final long targetBytes) {
+        YamlConfiguration ymlFile = new YamlConfiguration();
+        SplittableRandom random = new SplittableRandom(SEED);
+        long bytes = 0;
+        for (int i = 0; bytes < targetBytes; i++) {
+            String key = "k" + i;
+            int indent = 0;
+            String path = key;
+            if (shape == Shape.DEEP) {
+                StringBuilder builder = new StringBuilder();
+                int rest = i;
+                int levelSize = 1;
+                for (int level = 0; level < Shape.DEPTH; level++) {
+                    builder.append('n').append(rest % Shape.FANOUT).append('.');
+                    rest /= Shape.FANOUT;
+                    levelSize *= Shape.FANOUT;
+                    if (i < levelSize) // first leaf below this section
+                        bytes += 2L * level + 4;
+                }
+                key = "k" + rest;
+                path = builder.append(key).toString();
+                indent = 2 * Shape.DEPTH;
+            }
+
+            switch (i % 4) {
+                case 0: {
+                    String value = randomWord(random, 24);
+                    ymlFile.set(path, value);
+                    bytes += indent + key.length() + 2 + value.length() + 1;
+                    break;
+                }
+                case 1: {
+                    int value = random.nextInt();
+                    ymlFile.set(path, value);
+                    bytes += indent + key.length() + 2 + Integer.toString(value).length() + 1;
+                    break;
+                }
+                case 2: {
+                    double value = random.nextDouble() * 1000;
+                    ymlFile.set(path, value);
+                    bytes += indent + key.length() + 2 + Double.toString(value).length() + 1;
+                    break;
+                }
+                default: {
+                    List<String> value = Arrays.asList(randomWord(random, 8), randomWord(random, 8), randomWord(random, 8));
+                    ymlFile.set(path, value);
+                    bytes += indent + key.length() + 2 + 3L * (indent + 2 + 8 + 1);
+                }
+            }
+        }
+        return ymlFile;
+    }
+
+    /**
+     * Generates a file of {@link BenchRecord}s as direct children of the root.
+     * @param targetBytes the approximate size of the saved file
+     * @return the generated file
+     */
+    @NotNull
+    static YamlConfiguration generateRecords(final long targetBytes) {
+        BenchRecord.register();
+        YamlConfiguration ymlFile = new YamlConfiguration();
+        SplittableRandom random = new SplittableRandom(SEED);
+        long bytes = 0;
+        for (int i = 0; bytes < targetBytes; i++) {
+            String key = new UUID(random.nextLong(), random.nextLong()).toString();
+            String name = randomWord(random, 12);
+            double score = random.nextDouble() * 1000;
+            ymlFile.set(key, new BenchRecord(key, name, random.nextInt(100), score));
+            // key line, type line and four properties
+            bytes += key.length() + 2 + 18 + 2 * 4 + 4 + 36 + 6 + name.length() + 7 + 2 + 7 + Double.toString(score).length() + 4 * 2;
+        }
+        return ymlFile;
+    }
+
+    @NotNull
+    private static String randomWord(@NotNull final SplittableRandom random, final int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = LETTERS[random.nextInt(LETTERS.length)];
+        }
+        return new String(chars);
+    }
+}
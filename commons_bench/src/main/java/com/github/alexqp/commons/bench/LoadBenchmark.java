@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.bench;
+
+import com.github.alexqp.commons.dataHandler.DataHandler;
+import com.github.alexqp.commons.dataHandler.LoadSaveException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DataHandler#loadYmlFile(String)}.
+ * <p>The warm variant repeatedly loads the same file with a warmed up JIT and page cache.
+ * The cold variant loads a freshly copied file with a new DataHandler once per iteration and without warmup.
+ * <p>Note: The OS page cache cannot be dropped from within Java. For disk-cold numbers drop it externally between iterations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class LoadBenchmark {
+
+    private static final String FILE_NAME = "data.yml";
+
+    @Param({"1KB", "64KB", "1MB", "10MB", "50MB"})
+    public String size;
+
+    @Param({"FLAT", "DEEP"})
+    public String shape;
+
+    @Param({"false", "true"})
+    public boolean directLoading;
+
+    private BenchPlugin plugin;
+    private DataHandler dataHandler;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LoadSaveException {
+        plugin = BenchPlugin.create();
+        dataHandler = new DataHandler(plugin, "data");
+        dataHandler.setDirectLoading(directLoading);
+        dataHandler.saveYmlFile(FILE_NAME, DataGenerator.generate(DataGenerator.Shape.valueOf(shape), DataGenerator.parseSize(size)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        plugin.deleteDataFolder();
+    }
+
+    @Benchmark
+    public YamlConfiguration loadWarm() {
+        return dataHandler.loadYmlFile(FILE_NAME);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 10)
+    public YamlConfiguration loadCold(final ColdFile coldFile) {
+        return coldFile.dataHandler.loadYmlFile(coldFile.fileName);
+    }
+
+    /**
+     * A copy of the data file which is loaded once.
+     */
+    @State(Scope.Thread)
+    public static class ColdFile {
+
+        private DataHandler dataHandler;
+        private String fileName;
+        private Path file;
+        private int copies = 0;
+
+        @Setup(Level.Iteration)
+        public void setUp(final LoadBenchmark benchmark) throws IOException, LoadSaveException {
+            dataHandler = new DataHandler(benchmark.plugin, "data");
+            dataHandler.setDirectLoading(benchmark.directLoading);
+            fileName = "cold-" + copies++ + ".yml";
+            Path directory = benchmark.plugin.getDataFolder().toPath().resolve("data");
+            file = Files.copy(directory.resolve(FILE_NAME), directory.resolve(fileName));
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.bench;
+
+import com.github.alexqp.commons.dataHandler.DataDirectoryLock;
+import com.github.alexqp.commons.dataHandler.LoadSaveException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks {@link DataDirectoryLock} across several JVMs sharing one directory.
+ * <p>Every child process increments a counter file under the shard lock. Lost updates or a wrong change sequence number make the check fail with exit code 1.
+ * <p>Usage: <code>java -cp benchmarks.jar com.github.alexqp.commons.bench.LockCheck [processes] [iterations]</code>
+ */
+public final class LockCheck {
+
+    private static final String FILE_NAME = "counter.yml";
+    private static final int SHARDS = 4;
+
+    private LockCheck() {}
+
+    public static void main(final String[] args) throws IOException, InterruptedException, LoadSaveException {
+        if (args.length > 0 && args[0].equals("child")) {
+            child(new File(args[1]), Integer.parseInt(args[2]));
+            return;
+        }
+
+        int processes = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        Path directory = Files.createTempDirectory("commons-lock-check");
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<Process> children = new ArrayList<>();
+        for (int i = 0; i < processes; i++) {
+            children.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), LockCheck.class.getName(),
+                    "child", directory.toString(), String.valueOf(iterations)).inheritIO().start());
+        }
+        for (Process child : children) {
+            if (child.waitFor() != 0)
+                fail("child process failed");
+        }
+
+        long expected = (long) processes * iterations;
+        long counter = readCounter(directory.resolve(FILE_NAME));
+        long sequence;
+        try (DataDirectoryLock lock = new DataDirectoryLock(directory.toFile(), SHARDS)) {
+            sequence = lock.getChangeSequence(FILE_NAME);
+        }
+        System.out.println("counter=" + counter + " sequence=" + sequence + " expected=" + expected);
+        if (counter != expected || sequence != expected)
+            fail("lost updates");
+    }
+
+    private static void child(final File directory, final int iterations) throws IOException, LoadSaveException {
+        Path file = directory.toPath().resolve(FILE_NAME);
+        try (DataDirectoryLock lock = new DataDirectoryLock(directory, SHARDS)) {
+            for (int i = 0; i < iterations; i++) {
+                try (DataDirectoryLock.Handle handle = lock.lock(FILE_NAME, false)) {
+                    long counter = readCounter(file);
+                    Files.writeString(file, String.valueOf(counter + 1), StandardCharsets.UTF_8);
+                    handle.publishChange();
+                }
+            }
+        }
+    }
+
+    private static long readCounter(final Path file) throws IOException {
+        try {
+            return Long.parseLong(Files.readString(file, StandardCharsets.UTF_8).trim());
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+
+    private static void fail(final String msg) {
+        System.err.println("LockCheck failed: " + msg);
+        System.exit(1);
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.collections;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * The base of open-addressing hash maps with UUID keys and primitive values.
+ * <p>Keys are stored as their two longs in parallel arrays, values in a primitive array of the subclass. Entries need no objects at all, neither UUIDs nor boxed values nor nodes.
+ * Collisions are resolved by linear probing, removals shift following entries back, so there are no tombstones.
+ * <p>Note: Maps are not synchronized.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public abstract class AbstractUUIDMap {
+
+    private static final int MAGIC = 0x55554D50; // UUMP
+    private static final float LOAD_FACTOR = 0.7F;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private long[] msbs;
+    private long[] lsbs;
+    private boolean[] used;
+    private int size = 0;
+    private int threshold;
+
+    /**
+     * Constructs a map.
+     * @param expectedSize the amount of entries the map is able to hold without resizing
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    protected AbstractUUIDMap(final int expectedSize) throws IllegalArgumentException {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("expectedSize must not be negative");
+        this.allocate(capacityFor(expectedSize));
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        long needed = (long) Math.ceil(expectedSize / (double) LOAD_FACTOR);
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void allocate(final int capacity) {
+        msbs = new long[capacity];
+        lsbs = new long[capacity];
+        used = new boolean[capacity];
+        threshold = (int) Math.min(capacity * LOAD_FACTOR, capacity - 1);
+    }
+
+    /**
+     * Gets the amount of entries.
+     * @return the amount of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the map is empty.
+     * @return true if there are no entries, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks if the map contains a key.
+     * @param key the key
+     * @return true if an entry exists, false otherwise
+     */
+    public boolean containsKey(@NotNull final UUID key) {
+        return this.containsKey(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    /**
+     * Checks if the map contains a key.
+     * @param msb the most significant bits of the key
+     * @param lsb the least significant bits of the key
+     * @return true if an entry exists, false otherwise
+     */
+    public boolean containsKey(final long msb, final long lsb) {
+        return this.findSlot(msb, lsb) >= 0;
+    }
+
+    /**
+     * Removes an entry.
+     * @param key the key
+     * @return true if an entry was removed, false otherwise
+     */
+    public boolean remove(@NotNull final UUID key) {
+        return this.remove(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    /**
+     * Removes an entry.
+     * @param msb the most significant bits of the key
+     * @param lsb the least significant bits of the key
+     * @return true if an entry was removed, false otherwise
+     */
+    public boolean remove(final long msb, final long lsb) {
+        int slot = this.findSlot(msb, lsb);
+        if (slot < 0)
+            return false;
+        this.removeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Removes all entries. The capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    // =================================================================
+    // SLOTS
+    // =================================================================
+
+    private static int hash(final long msb, final long lsb) {
+        long h = msb * 31 + lsb;
+        h ^= h >>> 33; // murmur3 finalizer
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    /**
+     * Finds the slot of a key.
+     * @param msb the most significant bits of the key
+     * @param lsb the least significant bits of the key
+     * @return the slot or -1 if the key is not contained
+     */
+    protected final int findSlot(final long msb, final long lsb) {
+        int mask = used.length - 1;
+        for (int slot = hash(msb, lsb) & mask; used[slot]; slot = (slot + 1) & mask) {
+            if (msbs[slot] == msb && lsbs[slot] == lsb)
+                return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds or creates the slot of a key. The value of a new slot must be set by the caller.
+     * @param msb the most significant bits of the key
+     * @param lsb the least significant bits of the key
+     * @return the slot if the key was already contained, -(slot + 1) if the slot is new
+     * @throws IllegalStateException if the map is full
+     */
+    protected final int insertSlot(final long msb, final long lsb) throws IllegalStateException {
+        int slot = this.findSlot(msb, lsb);
+        if (slot >= 0)
+            return slot;
+
+        if (size >= threshold) {
+            if (used.length >= MAX_CAPACITY)
+                throw new IllegalStateException("map is full");
+            this.resize(used.length << 1);
+        }
+
+        int mask = used.length - 1;
+        slot = hash(msb, lsb) & mask;
+        while (used[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        msbs[slot] = msb;
+        lsbs[slot] = lsb;
+        size++;
+        return -(slot + 1);
+    }
+
+    private void removeSlot(int slot) {
+        int mask = used.length - 1;
+        used[slot] = false;
+        size--;
+
+        // shift back following entries of the same probe sequence
+        for (int next = (slot + 1) & mask; used[next]; next = (next + 1) & mask) {
+            int home = hash(msbs[next], lsbs[next]) & mask;
+            boolean movable = slot <= next ? (home <= slot || home > next) : (home <= slot && home > next);
+            if (movable) {
+                msbs[slot] = msbs[next];
+                lsbs[slot] = lsbs[next];
+                used[slot] = true;
+                used[next] = false;
+                this.moveValue(next, slot);
+                slot = next;
+            }
+        }
+    }
+
+    private void resize(final int capacity) {
+        long[] oldMsbs = msbs;
+        long[] oldLsbs = lsbs;
+        boolean[] oldUsed = used;
+        this.allocate(capacity);
+
+        int mask = capacity - 1;
+        int[] newSlots = new int[oldUsed.length];
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (!oldUsed[i]) {
+                newSlots[i] = -1;
+                continue;
+            }
+            int slot = hash(oldMsbs[i], oldLsbs[i]) & mask;
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            used[slot] = true;
+            msbs[slot] = oldMsbs[i];
+            lsbs[slot] = oldLsbs[i];
+            newSlots[i] = slot;
+        }
+        this.resizeValues(capacity, newSlots);
+    }
+
+    /**
+     * Gets the current capacity, i. e. the length of the value array.
+     * @return the capacity
+     */
+    protected final int capacity() {
+        return used.length;
+    }
+
+    /**
+     * Checks if a slot holds an entry.
+     * @param slot the slot
+     * @return true if the slot is used, false otherwise
+     */
+    protected final boolean isUsed(final int slot) {
+        return used[slot];
+    }
+
+    /**
+     * Gets the most significant bits of a slot's key.
+     * @param slot the slot
+     * @return the bits
+     */
+    protected final long msb(final int slot) {
+        return msbs[slot];
+    }
+
+    /**
+     * Gets the least significant bits of a slot's key.
+     * @param slot the slot
+     * @return the bits
+     */
+    protected final long lsb(final int slot) {
+        return lsbs[slot];
+    }
+
+    /**
+     * Moves a value to another slot.
+     * @param from the old slot
+     * @param to the new slot
+     */
+    protected abstract void moveValue(int from, int to);
+
+    /**
+     * Replaces the value array by a new one.
+     * @param capacity the length of the new array
+     * @param newSlots the new slot of every old slot or -1 if the old slot was not used
+     */
+    protected abstract void resizeValues(int capacity, int[] newSlots);
+
+    // =================================================================
+    // IO
+    // =================================================================
+
+    /**
+     * Gets the type of the values, used to validate persisted maps.
+     * @return the type id
+     */
+    protected abstract byte getValueType();
+
+    /**
+     * Gets the size of one value in bytes.
+     * @return the size in bytes
+     */
+    protected abstract int getValueBytes();
+
+    /**
+     * Writes the value of a slot.
+     * @param buffer the buffer
+     * @param slot the slot
+     */
+    protected abstract void writeValue(@NotNull ByteBuffer buffer, int slot);
+
+    /**
+     * Reads a value and puts the entry.
+     * @param buffer the buffer
+     * @param msb the most significant bits of the key
+     * @param lsb the least significant bits of the key
+     */
+    protected abstract void readValue(@NotNull ByteBuffer buffer, long msb, long lsb);
+
+    /**
+     * Writes all entries in a binary format.
+     * @param channel the channel
+     * @throws IOException if the channel could not be written
+     */
+    public void writeTo(@NotNull final WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+        buffer.putInt(MAGIC).put(this.getValueType()).putInt(size);
+
+        int entryBytes = 2 * Long.BYTES + this.getValueBytes();
+        for (int slot = 0; slot < used.length; slot++) {
+            if (!used[slot])
+                continue;
+            if (buffer.remaining() < entryBytes)
+                writeFully(channel, buffer);
+            buffer.putLong(msbs[slot]).putLong(lsbs[slot]);
+            this.writeValue(buffer, slot);
+        }
+        writeFully(channel, buffer);
+    }
+
+    /**
+     * Reads entries written by {@link AbstractUUIDMap#writeTo(WritableByteChannel)} of a map of the same type.
+     * <p>Entries are added to the current entries. Existing keys are overwritten.
+     * @param channel the channel
+     * @return the amount of read entries
+     * @throws IOException if the channel could not be read or does not hold a map of this type
+     */
+    public int readFrom(@NotNull final ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+        buffer.limit(Integer.BYTES + 1 + Integer.BYTES);
+        readFully(channel, buffer);
+        if (buffer.getInt() != MAGIC || buffer.get() != this.getValueType())
+            throw new IOException("channel does not hold a map of this type");
+        int count = buffer.getInt();
+        if (count < 0)
+            throw new IOException("invalid size");
+
+        if (capacityFor(size + count) > used.length)
+            this.resize(capacityFor(size + count));
+
+        int entryBytes = 2 * Long.BYTES + this.getValueBytes();
+        int perBuffer = IO_BUFFER_SIZE / entryBytes;
+        for (int read = 0; read < count; ) {
+            int batch = Math.min(perBuffer, count - read);
+            buffer.clear().limit(batch * entryBytes);
+            readFully(channel, buffer);
+            for (int i = 0; i < batch; i++) {
+                this.readValue(buffer, buffer.getLong(), buffer.getLong());
+            }
+            read += batch;
+        }
+        return count;
+    }
+
+    private static void writeFully(@NotNull final WritableByteChannel channel, @NotNull final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void readFully(@NotNull final ReadableByteChannel channel, @NotNull final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0)
+                throw new EOFException("unexpected end of map data");
+        }
+        buffer.flip();
+    }
+}
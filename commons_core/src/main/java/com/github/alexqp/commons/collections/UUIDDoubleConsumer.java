@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.collections;
+
+/**
+ * Consumes entries of a {@link UUIDDoubleMap}.
+ */
+@FunctionalInterface
+public interface UUIDDoubleConsumer {
+
+    /**
+     * Consumes an entry.
+     * @param msb the most significant bits of the key
+     * @param lsb the least significant bits of the key
+     * @param value the value
+     */
+    void accept(long msb, long lsb, double value);
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.collections;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * An open-addressing hash map from UUID to int, replacing <code>HashMap&lt;UUID, Integer&gt;</code> without boxing.
+ * @see AbstractUUIDMap
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class UUIDIntMap extends AbstractUUIDMap {
+
+    private int[] values;
+    private final int noEntryValue;
+
+    /**
+     * Constructs an empty map with 0 as value of absent keys.
+     */
+    public UUIDIntMap() {
+        this(0, 0);
+    }
+
+    /**
+     * Constructs an empty map.
+     * @param expectedSize the amount of entries the map is able to hold without resizing
+     * @param noEntryValue the value returned for absent keys
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public UUIDIntMap(final int expectedSize, final int noEntryValue) throws IllegalArgumentException {
+        super(expectedSize);
+        this.values = new int[this.capacity()];
+        this.noEntryValue = noEntryValue;
+    }
+
+    /**
+     * Gets the value returned for absent keys.
+     * @return the no entry value
+     */
+    public int getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    /**
+     * Gets the value of a key.
+     * @param key the key
+     * @return the value or the no entry value if absent
+     */
+    public int get(@NotNull final UUID key) {
+        return this.get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    /**
+     * Gets the value of a key.
+     * @param msb the most significant bits of the key
+     * @param lsb the least significant bits of the key
+     * @return the value or the no entry value if absent
+     */
+    public int get(final long msb, final long lsb) {
+        int slot = this.findSlot(msb, lsb);
+        return slot < 0 ? noEntryValue : values[slot];
+    }
+
+    /**
+     * Sets the value of a key.
+     * @param key the key
+     * @param value the value
+     */
+    public void put(@NotNull final UUID key, final int value) {
+        this.put(key.getMostSignificantBits(), key.getLeastSignificantBits(), value);
+    }
+
+    /**
+     * Sets the value of a key.
+     * @param msb the most significant bits of the key
+     * @param lsb the least significant bits of the key
+     * @param value the value
+     */
+    public void put(final long msb, final long lsb, final int value) {
+        int slot = this.insertSlot(msb, lsb);
+        values[slot < 0 ? -slot - 1 : slot] = value;
+    }
+
+    /**
+     * Adds to the value of a key. Absent keys start at the no entry value.
+     * @param key the key
+     * @param delta the amount to add
+     * @return the new value
+     */
+    public int addTo(@NotNull final UUID key, final int delta) {
+        return this.addTo(key.getMostSignificantBits(), key.getLeastSignificantBits(), delta);
+    }
+
+    /**
+     * Adds to the value of a key. Absent keys start at the no entry value.
+     * @param msb the most significant bits of the key
+     * @param lsb the least significant bits of the key
+     * @param delta the amount to add
+     * @return the new value
+     */
+    public int addTo(final long msb, final long lsb, final int delta) {
+        int slot = this.insertSlot(msb, lsb);
+        if (slot < 0) {
+            slot = -slot - 1;
+            values[slot] = noEntryValue;
+        }
+        return values[slot] += delta;
+    }
+
+    /**
+     * Performs an action for every entry without allocating anything.
+     * @param action the action
+     */
+    public void forEach(@NotNull final UUIDIntConsumer action) {
+        for (int slot = 0, capacity = this.capacity(); slot < capacity; slot++) {
+            if (this.isUsed(slot))
+                action.accept(this.msb(slot), this.lsb(slot), values[slot]);
+        }
+    }
+
+    @Override
+    protected void moveValue(final int from, final int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    protected void resizeValues(final int capacity, final int[] newSlots) {
+        int[] resized = new int[capacity];
+        for (int i = 0; i < newSlots.length; i++) {
+            if (newSlots[i] >= 0)
+                resized[newSlots[i]] = values[i];
+        }
+        values = resized;
+    }
+
+    @Override
+    protected byte getValueType() {
+        return 1;
+    }
+
+    @Override
+    protected int getValueBytes() {
+        return Integer.BYTES;
+    }
+
+    @Override
+    protected void writeValue(@NotNull final ByteBuffer buffer, final int slot) {
+        buffer.putInt(values[slot]);
+    }
+
+    @Override
+    protected void readValue(@NotNull final ByteBuffer buffer, final long msb, final long lsb) {
+        this.put(msb, lsb, buffer.getInt());
+    }
+}
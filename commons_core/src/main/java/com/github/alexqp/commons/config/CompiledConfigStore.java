@@ -0,0 +1,422 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A flat store of the values of a {@link ConfigSchema} for reads in hot code, e. g. every tick.
+ * <p>Every entry gets an index into one primitive array per type (int, long, double, boolean and Object for everything else).
+ * Typed handles read a value by a single array access. {@link CompiledConfigStore#update(ConfigValues)} builds new arrays and swaps them atomically,
+ * so every single read sees either the old or the new value.
+ * <p>Note: Every handle read uses the current values, i. e. two reads may see different updates. Read by a {@link CompiledConfigStore#view()} if values must belong to the same update.
+ * <p>Until the first update every entry holds its default value. Null values of primitive entries are stored as 0 or false.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class CompiledConfigStore {
+
+    private static final int INT = 0;
+    private static final int LONG = 1;
+    private static final int DOUBLE = 2;
+    private static final int BOOLEAN = 3;
+    private static final int OBJECT = 4;
+    private static final String[] KIND_NAMES = {"int", "long", "double", "boolean", "object"};
+
+    private final ConfigSchema schema;
+    private final int[] kinds;
+    private final int[] indices;
+    private final int[] sizes = new int[5];
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Compiles a store of a schema.
+     * @param schema the schema
+     */
+    public CompiledConfigStore(@NotNull final ConfigSchema schema) {
+        this.schema = schema;
+        this.kinds = new int[schema.size()];
+        this.indices = new int[schema.size()];
+        for (ConfigSchema.Entry<?> entry : schema.getEntries()) {
+            int kind = getKind(entry.getType().getValueClass());
+            kinds[entry.getOrdinal()] = kind;
+            indices[entry.getOrdinal()] = sizes[kind]++;
+        }
+
+        Snapshot defaults = new Snapshot(sizes);
+        for (ConfigSchema.Entry<?> entry : schema.getEntries()) {
+            defaults.set(kinds[entry.getOrdinal()], indices[entry.getOrdinal()], entry.getDefaultValue());
+        }
+        this.snapshot = defaults;
+    }
+
+    private static int getKind(@NotNull final Class<?> valueClass) {
+        if (valueClass == Integer.class)
+            return INT;
+        if (valueClass == Long.class)
+            return LONG;
+        if (valueClass == Double.class)
+            return DOUBLE;
+        if (valueClass == Boolean.class)
+            return BOOLEAN;
+        return OBJECT;
+    }
+
+    /**
+     * Gets the schema.
+     * @return the schema
+     */
+    @NotNull
+    public ConfigSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Replaces all values at once.
+     * @param values the values of this store's schema
+     * @throws IllegalArgumentException if values belong to another schema
+     */
+    public void update(@NotNull final ConfigValues values) throws IllegalArgumentException {
+        if (values.getSchema() != schema)
+            throw new IllegalArgumentException("values do not belong to the schema");
+        Snapshot next = new Snapshot(sizes);
+        for (ConfigSchema.Entry<?> entry : schema.getEntries()) {
+            next.set(kinds[entry.getOrdinal()], indices[entry.getOrdinal()], values.get(entry));
+        }
+        this.snapshot = next;
+    }
+
+    /**
+     * Checks a section and replaces all values at once.
+     * @param checker the checker
+     * @param section the section to check
+     * @return the checked values
+     * @see ConfigChecker#validate(ConfigSchema, ConfigurationSection)
+     */
+    @NotNull
+    public ConfigValues reload(@NotNull final ConfigChecker checker, @NotNull final ConfigurationSection section) {
+        ConfigValues values = checker.validate(schema, section);
+        this.update(values);
+        return values;
+    }
+
+    /**
+     * Gets a view of the current values. The view is not affected by later updates.
+     * @return the view
+     */
+    @NotNull
+    public View view() {
+        return new View(snapshot);
+    }
+
+    /**
+     * Gets the handle of an int entry.
+     * @param entry the entry
+     * @return the handle
+     * @throws IllegalArgumentException if the entry does not belong to the schema or is not of type int
+     */
+    @NotNull
+    public IntHandle getIntHandle(@NotNull final ConfigSchema.Entry<Integer> entry) throws IllegalArgumentException {
+        return new IntHandle(this.getIndex(entry, INT));
+    }
+
+    /**
+     * Gets the handle of a long entry.
+     * @param entry the entry
+     * @return the handle
+     * @throws IllegalArgumentException if the entry does not belong to the schema or is not of type long
+     */
+    @NotNull
+    public LongHandle getLongHandle(@NotNull final ConfigSchema.Entry<Long> entry) throws IllegalArgumentException {
+        return new LongHandle(this.getIndex(entry, LONG));
+    }
+
+    /**
+     * Gets the handle of a double entry.
+     * @param entry the entry
+     * @return the handle
+     * @throws IllegalArgumentException if the entry does not belong to the schema or is not of type double
+     */
+    @NotNull
+    public DoubleHandle getDoubleHandle(@NotNull final ConfigSchema.Entry<Double> entry) throws IllegalArgumentException {
+        return new DoubleHandle(this.getIndex(entry, DOUBLE));
+    }
+
+    /**
+     * Gets the handle of a boolean entry.
+     * @param entry the entry
+     * @return the handle
+     * @throws IllegalArgumentException if the entry does not belong to the schema or is not of type boolean
+     */
+    @NotNull
+    public BooleanHandle getBooleanHandle(@NotNull final ConfigSchema.Entry<Boolean> entry) throws IllegalArgumentException {
+        return new BooleanHandle(this.getIndex(entry, BOOLEAN));
+    }
+
+    /**
+     * Gets the handle of any other entry, e. g. strings.
+     * @param entry the entry
+     * @param <T> the java type of the value
+     * @return the handle
+     * @throws IllegalArgumentException if the entry does not belong to the schema or is of a primitive type
+     */
+    @NotNull
+    public <T> ObjectHandle<T> getObjectHandle(@NotNull final ConfigSchema.Entry<T> entry) throws IllegalArgumentException {
+        return new ObjectHandle<>(this.getIndex(entry, OBJECT), entry.getType().getValueClass());
+    }
+
+    private int getIndex(@NotNull final ConfigSchema.Entry<?> entry, final int kind) throws IllegalArgumentException {
+        if (entry.getSchema() != schema)
+            throw new IllegalArgumentException("entry " + entry + " does not belong to the schema");
+        if (kinds[entry.getOrdinal()] != kind)
+            throw new IllegalArgumentException("entry " + entry + " is not stored as " + KIND_NAMES[kind]);
+        return indices[entry.getOrdinal()];
+    }
+
+    private static final class Snapshot {
+
+        private final int[] ints;
+        private final long[] longs;
+        private final double[] doubles;
+        private final boolean[] booleans;
+        private final Object[] objects;
+
+        private Snapshot(@NotNull final int[] sizes) {
+            this.ints = new int[sizes[INT]];
+            this.longs = new long[sizes[LONG]];
+            this.doubles = new double[sizes[DOUBLE]];
+            this.booleans = new boolean[sizes[BOOLEAN]];
+            this.objects = new Object[sizes[OBJECT]];
+        }
+
+        private void set(final int kind, final int index, @Nullable final Object value) {
+            switch (kind) {
+                case INT -> ints[index] = value == null ? 0 : (Integer) value;
+                case LONG -> longs[index] = value == null ? 0 : (Long) value;
+                case DOUBLE -> doubles[index] = value == null ? 0 : (Double) value;
+                case BOOLEAN -> booleans[index] = value != null && (Boolean) value;
+                default -> objects[index] = value;
+            }
+        }
+    }
+
+    /**
+     * The values of one update of the store.
+     */
+    public final class View {
+
+        private final Snapshot snapshot;
+
+        private View(@NotNull final Snapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        private void checkOwner(@NotNull final CompiledConfigStore owner) throws IllegalArgumentException {
+            if (owner != CompiledConfigStore.this)
+                throw new IllegalArgumentException("handle does not belong to the store");
+        }
+
+        /**
+         * Gets an int value.
+         * @param handle the handle
+         * @return the value
+         * @throws IllegalArgumentException if the handle belongs to another store
+         */
+        public int get(@NotNull final IntHandle handle) throws IllegalArgumentException {
+            this.checkOwner(handle.getOwner());
+            return snapshot.ints[handle.index];
+        }
+
+        /**
+         * Gets a long value.
+         * @param handle the handle
+         * @return the value
+         * @throws IllegalArgumentException if the handle belongs to another store
+         */
+        public long get(@NotNull final LongHandle handle) throws IllegalArgumentException {
+            this.checkOwner(handle.getOwner());
+            return snapshot.longs[handle.index];
+        }
+
+        /**
+         * Gets a double value.
+         * @param handle the handle
+         * @return the value
+         * @throws IllegalArgumentException if the handle belongs to another store
+         */
+        public double get(@NotNull final DoubleHandle handle) throws IllegalArgumentException {
+            this.checkOwner(handle.getOwner());
+            return snapshot.doubles[handle.index];
+        }
+
+        /**
+         * Gets a boolean value.
+         * @param handle the handle
+         * @return the value
+         * @throws IllegalArgumentException if the handle belongs to another store
+         */
+        public boolean get(@NotNull final BooleanHandle handle) throws IllegalArgumentException {
+            this.checkOwner(handle.getOwner());
+            return snapshot.booleans[handle.index];
+        }
+
+        /**
+         * Gets any other value.
+         * @param handle the handle
+         * @param <T> the java type of the value
+         * @return the value (can be null if the default value is null)
+         * @throws IllegalArgumentException if the handle belongs to another store
+         */
+        @Nullable
+        public <T> T get(@NotNull final ObjectHandle<T> handle) throws IllegalArgumentException {
+            this.checkOwner(handle.getOwner());
+            return handle.valueClass.cast(snapshot.objects[handle.index]);
+        }
+    }
+
+    /**
+     * Reads an int value of the store.
+     */
+    public final class IntHandle {
+
+        private final int index;
+
+        private IntHandle(final int index) {
+            this.index = index;
+        }
+
+        /**
+         * Gets the current value.
+         * @return the value
+         */
+        public int get() {
+            return snapshot.ints[index];
+        }
+
+        @NotNull
+        private CompiledConfigStore getOwner() {
+            return CompiledConfigStore.this;
+        }
+    }
+
+    /**
+     * Reads a long value of the store.
+     */
+    public final class LongHandle {
+
+        private final int index;
+
+        private LongHandle(final int index) {
+            this.index = index;
+        }
+
+        /**
+         * Gets the current value.
+         * @return the value
+         */
+        public long get() {
+            return snapshot.longs[index];
+        }
+
+        @NotNull
+        private CompiledConfigStore getOwner() {
+            return CompiledConfigStore.this;
+        }
+    }
+
+    /**
+     * Reads a double value of the store.
+     */
+    public final class DoubleHandle {
+
+        private final int index;
+
+        private DoubleHandle(final int index) {
+            this.index = index;
+        }
+
+        /**
+         * Gets the current value.
+         * @return the value
+         */
+        public double get() {
+            return snapshot.doubles[index];
+        }
+
+        @NotNull
+        private CompiledConfigStore getOwner() {
+            return CompiledConfigStore.this;
+        }
+    }
+
+    /**
+     * Reads a boolean value of the store.
+     */
+    public final class BooleanHandle {
+
+        private final int index;
+
+        private BooleanHandle(final int index) {
+            this.index = index;
+        }
+
+        /**
+         * Gets the current value.
+         * @return the value
+         */
+        public boolean get() {
+            return snapshot.booleans[index];
+        }
+
+        @NotNull
+        private CompiledConfigStore getOwner() {
+            return CompiledConfigStore.this;
+        }
+    }
+
+    /**
+     * Reads any other value of the store.
+     * @param <T> the java type of the value
+     */
+    public final class ObjectHandle<T> {
+
+        private final int index;
+        private final Class<T> valueClass;
+
+        private ObjectHandle(final int index, @NotNull final Class<T> valueClass) {
+            this.index = index;
+            this.valueClass = valueClass;
+        }
+
+        /**
+         * Gets the current value.
+         * @return the value (can be null if the default value is null)
+         */
+        @Nullable
+        public T get() {
+            return valueClass.cast(snapshot.objects[index]);
+        }
+
+        @NotNull
+        private CompiledConfigStore getOwner() {
+            return CompiledConfigStore.this;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import com.google.common.collect.Range;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.util.function.DoubleFunction;
+
+/**
+ * Binds config values onto records or immutable classes.
+ * <p>Every record component (or constructor parameter) declares its path, range and default value by {@link ConfigPath}, {@link ConfigRange} and {@link ConfigDefault}.
+ * Values are checked by a {@link ConfigSchema} and passed to the constructor, so hot code reads plain final fields instead of looking up config paths.
+ * <p>The schema and constructor handle are resolved once per class.
+ * Records are constructed by their canonical constructor. Other classes must declare exactly one constructor whose parameters are all annotated by {@link ConfigPath}.
+ * <p>Supported types are boolean, int, long, double (and their wrappers), String, Vector and any other class whose instances are stored directly (e. g. ConfigurationSerializables).
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ConfigBinder {
+
+    // long bounds above this magnitude can not be written exactly as double
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    private static final ClassValue<Binding<?>> BINDINGS = new ClassValue<>() {
+        @Override
+        protected Binding<?> computeValue(@NotNull final Class<?> type) {
+            return Binding.create(type);
+        }
+    };
+
+    private ConfigBinder() {}
+
+    /**
+     * Binds a section onto a class.
+     * <p>Console msgs are sent (or collected, see {@link ConfigChecker#startReport()}) for every value not set correctly.
+     * Values are memoized by the checker, see {@link ConfigChecker#validate(ConfigSchema, ConfigurationSection)}.
+     * @param checker the checker
+     * @param section the section to bind
+     * @param type the record or immutable class
+     * @param <T> the type
+     * @return the constructed instance
+     * @throws IllegalArgumentException if type cannot be bound
+     */
+    @NotNull
+    public static <T> T bind(@NotNull final ConfigChecker checker, @NotNull final ConfigurationSection section, @NotNull final Class<T> type)
+            throws IllegalArgumentException {
+        Binding<T> binding = getBinding(type);
+        return binding.construct(checker.validate(binding.schema, section));
+    }
+
+    /**
+     * Constructs an instance from already validated values.
+     * @param values the values validated by {@link ConfigBinder#getSchema(Class)}
+     * @param type the record or immutable class
+     * @param <T> the type
+     * @return the constructed instance
+     * @throws IllegalArgumentException if type cannot be bound or values belong to another schema
+     */
+    @NotNull
+    public static <T> T construct(@NotNull final ConfigValues values, @NotNull final Class<T> type) throws IllegalArgumentException {
+        return getBinding(type).construct(values);
+    }
+
+    /**
+     * Gets the schema of a class.
+     * @param type the record or immutable class
+     * @return the schema
+     * @throws IllegalArgumentException if type cannot be bound
+     */
+    @NotNull
+    public static ConfigSchema getSchema(@NotNull final Class<?> type) throws IllegalArgumentException {
+        return getBinding(type).schema;
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    private static <T> Binding<T> getBinding(@NotNull final Class<T> type) throws IllegalArgumentException {
+        return (Binding<T>) BINDINGS.get(type);
+    }
+
+    private static final class Binding<T> {
+
+        private final Class<T> type;
+        private final ConfigSchema schema;
+        private final ConfigSchema.Entry<?>[] entries;
+        private final MethodHandle constructor;
+
+        private Binding(@NotNull final Class<T> type, @NotNull final ConfigSchema schema, @NotNull final ConfigSchema.Entry<?>[] entries, @NotNull final MethodHandle constructor) {
+            this.type = type;
+            this.schema = schema;
+            this.entries = entries;
+            this.constructor = constructor;
+        }
+
+        @NotNull
+        private static <T> Binding<T> create(@NotNull final Class<T> type) throws IllegalArgumentException {
+            Constructor<T> constructor;
+            AnnotatedElement[] elements;
+            String[] names;
+            if (type.isRecord()) {
+                RecordComponent[] components = type.getRecordComponents();
+                Class<?>[] types = new Class<?>[components.length];
+                elements = new AnnotatedElement[components.length];
+                names = new String[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    types[i] = components[i].getType();
+                    elements[i] = components[i];
+                    names[i] = components[i].getName();
+                }
+                try {
+                    constructor = type.getDeclaredConstructor(types);
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalArgumentException("record " + type.getName() + " has no canonical constructor");
+                }
+            } else {
+                constructor = findAnnotatedConstructor(type);
+                Parameter[] parameters = constructor.getParameters();
+                elements = parameters;
+                names = new String[parameters.length];
+            }
+
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            ConfigSchema.Builder builder = new ConfigSchema.Builder();
+            ConfigSchema.Entry<?>[] entries = new ConfigSchema.Entry<?>[parameterTypes.length];
+            for (int i = 0; i < entries.length; i++) {
+                ConfigPath configPath = elements[i].getAnnotation(ConfigPath.class);
+                String path = configPath != null ? configPath.value() : names[i];
+                entries[i] = declare(builder, path, parameterTypes[i], elements[i], configPath);
+            }
+
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.privateLookupIn(type, MethodHandles.lookup()).unreflectConstructor(constructor);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("constructor of " + type.getName() + " is not accessible");
+            }
+            handle = handle.asSpreader(Object[].class, entries.length).asType(MethodType.methodType(Object.class, Object[].class));
+            return new Binding<>(type, builder.build(), entries, handle);
+        }
+
+        @NotNull
+        private static <T> Constructor<T> findAnnotatedConstructor(@NotNull final Class<T> type) throws IllegalArgumentException {
+            Constructor<T> found = null;
+            for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+                boolean annotated = constructor.getParameterCount() > 0;
+                for (Parameter parameter : constructor.getParameters()) {
+                    annotated &= parameter.isAnnotationPresent(ConfigPath.class);
+                }
+                if (annotated) {
+                    if (found != null)
+                        throw new IllegalArgumentException(type.getName() + " has multiple constructors annotated by @ConfigPath");
+                    @SuppressWarnings("unchecked")
+                    Constructor<T> typed = (Constructor<T>) constructor;
+                    found = typed;
+                }
+            }
+            if (found == null)
+                throw new IllegalArgumentException(type.getName() + " has no constructor whose parameters are all annotated by @ConfigPath");
+            return found;
+        }
+
+        @NotNull
+        private T construct(@NotNull final ConfigValues values) throws IllegalArgumentException {
+            Object[] args = new Object[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                args[i] = values.get(entries[i]);
+            }
+            try {
+                return type.cast((Object) constructor.invokeExact(args));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("could not construct " + type.getName(), e);
+            }
+        }
+    }
+
+    @NotNull
+    private static ConfigSchema.Entry<?> declare(@NotNull final ConfigSchema.Builder builder, @NotNull final String path, @NotNull final Class<?> javaType,
+                                                 @NotNull final AnnotatedElement element, @Nullable final ConfigPath configPath) throws IllegalArgumentException {
+        ConsoleErrorType errorType = configPath != null ? configPath.errorType() : ConsoleErrorType.WARN;
+        boolean force = configPath != null && configPath.force();
+        ConfigDefault configDefault = element.getAnnotation(ConfigDefault.class);
+        String def = configDefault != null ? configDefault.value() : null;
+        ConfigRange configRange = element.getAnnotation(ConfigRange.class);
+
+        if (javaType == int.class || javaType == Integer.class) {
+            Integer value = def != null ? Integer.valueOf(def) : javaType.isPrimitive() ? 0 : null;
+            return add(builder, path, ConfigType.INT, errorType, value, def == null, getRange(configRange, d -> (int) toIntegral(path, d, Integer.MIN_VALUE, Integer.MAX_VALUE)));
+        }
+        if (javaType == long.class || javaType == Long.class) {
+            Long value = def != null ? Long.valueOf(def) : javaType.isPrimitive() ? 0L : null;
+            return add(builder, path, force ? ConfigType.FORCE_LONG : ConfigType.LONG, errorType, value, def == null, getRange(configRange, d -> toIntegral(path, d, -MAX_EXACT_LONG, MAX_EXACT_LONG)));
+        }
+        if (javaType == double.class || javaType == Double.class) {
+            Double value = def != null ? Double.valueOf(def) : javaType.isPrimitive() ? 0D : null;
+            return add(builder, path, force ? ConfigType.FORCE_DOUBLE : ConfigType.DOUBLE, errorType, value, def == null, getRange(configRange, d -> d));
+        }
+
+        if (configRange != null)
+            throw new IllegalArgumentException("@ConfigRange is not supported for " + path + " of type " + javaType.getName());
+        if (javaType == boolean.class || javaType == Boolean.class) {
+            Boolean value = def != null ? Boolean.valueOf(def) : javaType.isPrimitive() ? false : null;
+            return builder.add(path, ConfigType.BOOLEAN, errorType, value);
+        }
+        if (javaType == String.class)
+            return builder.add(path, ConfigType.STRING, errorType, def);
+        if (javaType == Vector.class)
+            return builder.add(path, ConfigType.VECTOR, errorType, def != null ? parseVector(path, def) : null);
+        if (javaType.isPrimitive())
+            throw new IllegalArgumentException("type " + javaType.getName() + " of " + path + " is not supported");
+        if (def != null)
+            throw new IllegalArgumentException("@ConfigDefault is not supported for " + path + " of type " + javaType.getName());
+        return builder.add(path, ConfigType.of(javaType.getSimpleName(), javaType, "value must be " + javaType.getSimpleName()), errorType, null);
+    }
+
+    @NotNull
+    private static <T extends Comparable<?>> ConfigSchema.Entry<T> add(@NotNull final ConfigSchema.Builder builder, @NotNull final String path, @NotNull final ConfigType<T> type,
+                                                                       @NotNull final ConsoleErrorType errorType, @Nullable final T value, final boolean implicitValue,
+                                                                       @Nullable final Range<T> range) throws IllegalArgumentException {
+        if (implicitValue && value != null && range != null && !range.contains(value))
+            throw new IllegalArgumentException("@ConfigDefault is required for " + path + " because its @ConfigRange " + range + " excludes the implicit default " + value);
+        return range == null ? builder.add(path, type, errorType, value) : builder.add(path, type, errorType, value, range);
+    }
+
+    @Nullable
+    private static <T extends Comparable<?>> Range<T> getRange(@Nullable final ConfigRange configRange, @NotNull final DoubleFunction<T> converter) {
+        if (configRange == null)
+            return null;
+        boolean lower = configRange.min() != Double.NEGATIVE_INFINITY;
+        boolean upper = configRange.max() != Double.POSITIVE_INFINITY;
+        if (lower && upper)
+            return Range.closed(converter.apply(configRange.min()), converter.apply(configRange.max()));
+        if (lower)
+            return Range.atLeast(converter.apply(configRange.min()));
+        if (upper)
+            return Range.atMost(converter.apply(configRange.max()));
+        return null;
+    }
+
+    private static long toIntegral(@NotNull final String path, final double bound, final long min, final long max) throws IllegalArgumentException {
+        if (bound != Math.rint(bound) || bound < min || bound > max)
+            throw new IllegalArgumentException("@ConfigRange bound " + bound + " of " + path + " must be a whole number within [" + min + ", " + max + "]");
+        return (long) bound;
+    }
+
+    @NotNull
+    private static Vector parseVector(@NotNull final String path, @NotNull final String string) throws IllegalArgumentException {
+        String[] parts = string.split(",");
+        if (parts.length != 3)
+            throw new IllegalArgumentException("@ConfigDefault of " + path + " must be written as x,y,z");
+        return new Vector(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()), Double.parseDouble(parts[2].trim()));
+    }
+}
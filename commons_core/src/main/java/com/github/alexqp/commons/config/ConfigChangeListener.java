@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Gets notified by {@link ConfigWatcher} if its path or subtree changed.
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    /**
+     * Gets executed after a reload affecting the registered path.
+     * @param section the reloaded section
+     * @param diff the changes since the previous reload
+     */
+    void onChange(@NotNull ConfigurationSection section, @NotNull ConfigDiff diff);
+}
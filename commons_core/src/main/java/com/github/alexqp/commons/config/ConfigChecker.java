@@ -18,7 +18,9 @@
 package com.github.alexqp.commons.config;
 
 import com.github.alexqp.commons.messages.ConsoleMessage;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Range;
+import org.bukkit.configuration.Configuration;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -26,6 +28,19 @@ import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 @SuppressWarnings({"unused", "WeakerAccess"})
 public class ConfigChecker {
 
@@ -39,9 +54,13 @@ public class ConfigChecker {
     public final String stringMsg = "value must be a string";
     public final String configSectionMsg = "value must be a configurationSection";
     public final String vectorMsg = "value must be a vector";
+    public final String listMsg = "value must be a list";
 
     private final JavaPlugin plugin;
     private String configFileName;
+    private ConfigReport report;
+    private final Map<ConfigSchema, Map<ConfigurationSection, Validation>> memos = new HashMap<>();
+    private final Map<ConfigurationSection, Map<String, Object>> pendingChanges;
 
     /**
      * Constructs a ConfigChecker.
@@ -51,6 +70,7 @@ public class ConfigChecker {
      */
     public ConfigChecker(@NotNull JavaPlugin plugin) {
         this.plugin = plugin;
+        this.pendingChanges = new IdentityHashMap<>();
     }
 
     /**
@@ -65,8 +85,60 @@ public class ConfigChecker {
         this.configFileName = configFile.getName();
     }
 
+    /**
+     * Constructs a fork of a checker, i. e. a checker collecting into its own report but sharing the pending changes of parent.
+     * @param parent the checker to fork
+     */
+    private ConfigChecker(@NotNull ConfigChecker parent) {
+        this.plugin = parent.plugin;
+        this.configFileName = parent.configFileName;
+        this.report = new ConfigReport();
+        this.pendingChanges = parent.pendingChanges;
+    }
+
+    /**
+     * Starts collecting console msgs into a new report instead of sending them.
+     * @return the report
+     * @see ConfigChecker#finishReport()
+     */
+    @NotNull
+    public ConfigReport startReport() {
+        this.report = new ConfigReport();
+        return report;
+    }
+
+    /**
+     * Sets the report console msgs are collected into.
+     * @param report the report or null to send console msgs directly
+     */
+    public void setReport(@Nullable ConfigReport report) {
+        this.report = report;
+    }
+
+    /**
+     * Gets the current report.
+     * @return the report or null if console msgs are sent directly
+     */
+    @Nullable
+    public ConfigReport getReport() {
+        return report;
+    }
+
+    /**
+     * Stops collecting console msgs. Following msgs are sent directly again.
+     * @return the collected report or null if no report was started
+     * @see ConfigReport#send(JavaPlugin)
+     */
+    @Nullable
+    public ConfigReport finishReport() {
+        ConfigReport finished = report;
+        this.report = null;
+        return finished;
+    }
+
     /**
      * Attempts to send a console msg.
+     * <p>If a report is started, the msg is added to it instead of being sent.
      * <p>ConsoleErrorType must be either ERROR, WARN or NONE. This will add an "(used default value ... instead)" ending if value is not null.
      * @param errorType the errorType (controls console msg)
      * @param sectionPath the section's current path
@@ -76,6 +148,29 @@ public class ConfigChecker {
      * @see ConsoleMessage#send(ConsoleErrorType, String, String, String, String)
      */
     public void attemptConsoleMsg(@NotNull ConsoleErrorType errorType, @Nullable String sectionPath, @Nullable String path, @Nullable Object value, @Nullable String msg) {
+        this.attemptConsoleMsg(errorType, sectionPath, path, value, msg, null);
+    }
+
+    /**
+     * Attempts to send a console msg.
+     * <p>The expected value is not part of the console msg, but is stored within the diagnostic if a report is started.
+     * @param errorType the errorType (controls console msg)
+     * @param sectionPath the section's current path
+     * @param path the path
+     * @param value the defValue (can be null)
+     * @param msg the specific error msg
+     * @param expected what the value was expected to be, e. g. a type name or a range (can be null)
+     * @see ConfigChecker#attemptConsoleMsg(ConsoleErrorType, String, String, Object, String)
+     * @see ConfigDiagnostic#getExpected()
+     */
+    public void attemptConsoleMsg(@NotNull ConsoleErrorType errorType, @Nullable String sectionPath, @Nullable String path, @Nullable Object value, @Nullable String msg,
+                                  @Nullable String expected) {
+        if (errorType == ConsoleErrorType.NONE)
+            return;
+        if (report != null) {
+            report.add(new ConfigDiagnostic(errorType, this.getSaveSectionName(sectionPath), path, msg, value, expected));
+            return;
+        }
         if (value != null) {
             ConsoleMessage.send(errorType, plugin.getName(), this.getSaveSectionName(sectionPath), path, msg + " (used default value " + value.toString() + " instead)");
             return;
@@ -98,6 +193,8 @@ public class ConfigChecker {
      * @see ConfigChecker#attemptConsoleMsg(ConsoleErrorType, String, String, Object, String)
      */
     public void attemptConsoleMsg(@NotNull ConsoleErrorType errorType, @NotNull ConfigurationSection section,  @Nullable String path,  @Nullable String msg) {
+        if (errorType == ConsoleErrorType.NONE)
+            return;
         this.attemptConsoleMsg(errorType, section.getCurrentPath(), path, null, msg);
     }
 
@@ -107,9 +204,23 @@ public class ConfigChecker {
      * @see ConfigChecker#attemptConsoleMsg(ConsoleErrorType, String, String, Object, String)
      */
     public void attemptConsoleMsg(@NotNull ConsoleErrorType errorType, @NotNull ConfigurationSection section, @Nullable String path, @Nullable Object value, @Nullable String msg) {
+        if (errorType == ConsoleErrorType.NONE)
+            return;
         this.attemptConsoleMsg(errorType, section.getCurrentPath(), path, value, msg);
     }
 
+    /**
+     * Attempts to send a console msg.
+     * <p>The section's current path will be used in the see also method.
+     * @see ConfigChecker#attemptConsoleMsg(ConsoleErrorType, String, String, Object, String, String)
+     */
+    public void attemptConsoleMsg(@NotNull ConsoleErrorType errorType, @NotNull ConfigurationSection section, @Nullable String path, @Nullable Object value, @Nullable String msg,
+                                  @Nullable String expected) {
+        if (errorType == ConsoleErrorType.NONE)
+            return;
+        this.attemptConsoleMsg(errorType, section.getCurrentPath(), path, value, msg, expected);
+    }
+
     /**
      * Gets the default range message of configChecker.
      * @param range the range
@@ -120,6 +231,189 @@ public class ConfigChecker {
         return "value must be element of " + range.toString();
     }
 
+    /**
+     * Gets the default range message of configChecker.
+     * @see ConfigChecker#getRangeMsg(Range)
+     */
+    @NotNull
+    public static String getRangeMsg(@NotNull final IntRange range) {
+        return "value must be element of " + range;
+    }
+
+    /**
+     * Gets the default range message of configChecker.
+     * @see ConfigChecker#getRangeMsg(Range)
+     */
+    @NotNull
+    public static String getRangeMsg(@NotNull final LongRange range) {
+        return "value must be element of " + range;
+    }
+
+    /**
+     * Gets the default range message of configChecker.
+     * @see ConfigChecker#getRangeMsg(Range)
+     */
+    @NotNull
+    public static String getRangeMsg(@NotNull final DoubleRange range) {
+        return "value must be element of " + range;
+    }
+
+    /**
+     * Checks all entries of a schema within a section and sends the resulting console msgs.
+     * <p>Results are memoized per schema and section instance (held weakly, i. e. discarded sections do not leak). If the section's contents did not change since the last call (see {@link ConfigFingerprint}),
+     * the previous values are returned and their diagnostics are sent again without checking anything.
+     * Otherwise the contents are diffed against the previous call and only entries affected by changed paths are checked again.
+     * If the section's defaults changed, everything is checked again.
+     * @param schema the schema
+     * @param section the section to check
+     * @return the checked values
+     * @see ConfigSchema#validate(ConfigChecker, ConfigurationSection, ConfigValues, ConfigDiff)
+     */
+    @NotNull
+    public ConfigValues validate(@NotNull final ConfigSchema schema, @NotNull final ConfigurationSection section) {
+        Map<ConfigurationSection, Validation> validations = memos.computeIfAbsent(schema, k -> new MapMaker().weakKeys().makeMap());
+        Validation validation = validations.get(section);
+        long fingerprint = ConfigFingerprint.of(section);
+
+        if (validation == null) {
+            validation = new Validation(fingerprint, ConfigSnapshot.of(section), snapshotDefaults(section), schema.validate(this, section));
+            validations.put(section, validation);
+        } else if (validation.fingerprint != fingerprint) {
+            ConfigSnapshot snapshot = ConfigSnapshot.of(section);
+            ConfigSnapshot defaults = snapshotDefaults(section);
+            ConfigValues values;
+            if (!ConfigDiff.between(validation.defaults, defaults).isEmpty()) {
+                values = schema.validate(this, section);
+            } else {
+                ConfigDiff diff = ConfigDiff.between(validation.snapshot, snapshot);
+                values = diff.isEmpty() ? validation.values : schema.validate(this, section, validation.values, diff);
+            }
+            validation = new Validation(fingerprint, snapshot, defaults, values);
+            validations.put(section, validation);
+        }
+        validation.values.sendDiagnostics(this);
+        return validation.values;
+    }
+
+    @NotNull
+    private static ConfigSnapshot snapshotDefaults(@NotNull final ConfigurationSection section) {
+        ConfigurationSection defaults = section.getDefaultSection();
+        return defaults == null ? ConfigSnapshot.empty() : ConfigSnapshot.of(defaults);
+    }
+
+    private static final class Validation {
+
+        private final long fingerprint;
+        private final ConfigSnapshot snapshot;
+        private final ConfigSnapshot defaults;
+        private final ConfigValues values;
+
+        private Validation(final long fingerprint, @NotNull final ConfigSnapshot snapshot, @NotNull final ConfigSnapshot defaults, @NotNull final ConfigValues values) {
+            this.fingerprint = fingerprint;
+            this.snapshot = snapshot;
+            this.defaults = defaults;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Discards all memoized results of {@link ConfigChecker#validate(ConfigSchema, ConfigurationSection)}.
+     */
+    public void clearMemos() {
+        memos.clear();
+    }
+
+    /**
+     * Queues a value to be written back instead of setting it directly.
+     * <p>Use this within {@link ConfigurationSerializableCheckable#checkValues(ConfigChecker, ConfigurationSection, String, ConsoleErrorType, boolean)} to overwrite values.
+     * All queued values are applied at once by {@link ConfigChecker#applyPendingChanges(FileConfiguration, File)}. A later value for the same path replaces an earlier one.
+     * @param section the section
+     * @param path the path within the section
+     * @param value the value to write
+     */
+    public void writeBack(@NotNull final ConfigurationSection section, @NotNull final String path, @Nullable final Object value) {
+        Configuration root = section.getRoot();
+        ConfigurationSection target = root != null ? root : section;
+        String currentPath = section.getCurrentPath();
+        String fullPath = root == null || currentPath == null || currentPath.isEmpty() ? path : currentPath + root.options().pathSeparator() + path;
+        synchronized (pendingChanges) {
+            pendingChanges.computeIfAbsent(target, k -> new LinkedHashMap<>()).put(fullPath, value);
+        }
+    }
+
+    /**
+     * Checks if values are queued to be written back.
+     * @return true if there are pending changes, false otherwise
+     */
+    public boolean hasPendingChanges() {
+        synchronized (pendingChanges) {
+            return !pendingChanges.isEmpty();
+        }
+    }
+
+    /**
+     * Applies all queued values in one pass, skipping values which are already set.
+     * <p>Nothing is persisted, see {@link ConfigChecker#applyPendingChanges(FileConfiguration, File)}.
+     * @return the amount of values which actually changed
+     */
+    public int applyPendingChanges() {
+        int changed = 0;
+        synchronized (pendingChanges) {
+            for (Map.Entry<ConfigurationSection, Map<String, Object>> entry : pendingChanges.entrySet()) {
+                changed += apply(entry.getKey(), entry.getValue());
+            }
+            pendingChanges.clear();
+        }
+        return changed;
+    }
+
+    /**
+     * Applies the queued values of a config in one pass and saves it once, but only if at least one value actually changed.
+     * <p>Comments are preserved as far as the config was loaded with comments (default since 1.18).
+     * Queued values of other configs stay pending.
+     * @param config the config
+     * @param file the file to save the config to
+     * @return true if the config changed and got saved, false otherwise
+     * @throws IOException if the config could not be saved
+     */
+    public boolean applyPendingChanges(@NotNull final FileConfiguration config, @NotNull final File file) throws IOException {
+        Map<String, Object> changes;
+        synchronized (pendingChanges) {
+            changes = pendingChanges.remove(config);
+        }
+        if (changes == null || apply(config, changes) == 0)
+            return false;
+        config.save(file);
+        return true;
+    }
+
+    /**
+     * Applies the queued values of the plugin's config and saves it once, but only if at least one value actually changed.
+     * @return true if the config changed and got saved, false otherwise
+     * @see ConfigChecker#applyPendingChanges(FileConfiguration, File)
+     */
+    public boolean applyPendingConfigChanges() {
+        Map<String, Object> changes;
+        synchronized (pendingChanges) {
+            changes = pendingChanges.remove(plugin.getConfig());
+        }
+        if (changes == null || apply(plugin.getConfig(), changes) == 0)
+            return false;
+        plugin.saveConfig();
+        return true;
+    }
+
+    private static int apply(@NotNull final ConfigurationSection target, @NotNull final Map<String, Object> changes) {
+        int changed = 0;
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            if (!Objects.equals(target.get(change.getKey()), change.getValue())) {
+                target.set(change.getKey(), change.getValue());
+                changed++;
+            }
+        }
+        return changed;
+    }
+
     private String getSaveSectionName(String sectionName) {
         if (sectionName == null || sectionName.isEmpty()) {
             if (configFileName != null && !configFileName.isEmpty())
@@ -140,12 +434,12 @@ public class ConfigChecker {
     public boolean checkBoolean(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, final boolean value) {
         if (section.contains(path)) {
             if (!section.isBoolean(path)) {
-                this.attemptConsoleMsg(errorType, section, path, value, booleanMsg);
+                this.attemptConsoleMsg(errorType, section, path, value, booleanMsg, "boolean");
                 return value;
             }
             return section.getBoolean(path);
         }
-        this.attemptConsoleMsg(errorType, section, path, value, noPathMsg);
+        this.attemptConsoleMsg(errorType, section, path, value, noPathMsg, "boolean");
         return value;
     }
 
@@ -159,12 +453,12 @@ public class ConfigChecker {
     public boolean checkBoolean(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType) {
         if (section.contains(path)) {
             if (!section.isBoolean(path)) {
-                this.attemptConsoleMsg(errorType, section, path, null, booleanMsg);
+                this.attemptConsoleMsg(errorType, section, path, null, booleanMsg, "boolean");
                 return false;
             }
             return true;
         }
-        this.attemptConsoleMsg(errorType, section, path, null, noPathMsg);
+        this.attemptConsoleMsg(errorType, section, path, null, noPathMsg, "boolean");
         return false;
     }
 
@@ -179,12 +473,12 @@ public class ConfigChecker {
     public int checkInt(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, final int value) {
         if (section.contains(path)) {
             if (!section.isInt(path)) {
-                this.attemptConsoleMsg(errorType, section, path, value, intMsg);
+                this.attemptConsoleMsg(errorType, section, path, value, intMsg, "int");
                 return value;
             }
             return section.getInt(path);
         }
-        this.attemptConsoleMsg(errorType, section, path, value, noPathMsg);
+        this.attemptConsoleMsg(errorType, section, path, value, noPathMsg, "int");
         return value;
     }
 
@@ -198,12 +492,12 @@ public class ConfigChecker {
     public boolean checkInt(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType) {
         if (section.contains(path)) {
             if (!section.isInt(path)) {
-                this.attemptConsoleMsg(errorType, section, path, null, intMsg);
+                this.attemptConsoleMsg(errorType, section, path, null, intMsg, "int");
                 return false;
             }
             return true;
         }
-        this.attemptConsoleMsg(errorType, section, path, null, noPathMsg);
+        this.attemptConsoleMsg(errorType, section, path, null, noPathMsg, "int");
         return false;
     }
 
@@ -227,7 +521,7 @@ public class ConfigChecker {
         if (range.contains(testValue)) {
             return testValue;
         } else {
-            this.attemptConsoleMsg(errorType, section, path, value, getRangeMsg(range));
+            this.attemptConsoleMsg(errorType, section, path, value, getRangeMsg(range), String.valueOf(range));
             return value;
         }
     }
@@ -243,12 +537,65 @@ public class ConfigChecker {
     public boolean checkInt(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final Range<Integer> range) {
         boolean configStatus = this.checkInt(section, path, errorType);
         if (configStatus && !range.contains(section.getInt(path))) {
-            this.attemptConsoleMsg(errorType, section, path, null, getRangeMsg(range));
+            this.attemptConsoleMsg(errorType, section, path, null, getRangeMsg(range), String.valueOf(range));
             return false;
         }
         return configStatus;
     }
 
+    /**
+     * Checks an integer, returning a default value if not found or within the given range.
+     * <p>Unlike the Range variant this neither boxes values nor builds any msg unless a check fails and errorType is not NONE.
+     * @param section the section to check
+     * @param path the path within the section
+     * @param errorType the ConsoleErrorType (controls console msg)
+     * @param value the default value
+     * @param range range config value or value must be element of
+     * @return config value if set correctly and in range, value otherwise
+     * @throws IllegalArgumentException if value is not within the given range
+     */
+    public int checkInt(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, final int value, @NotNull final IntRange range)
+            throws IllegalArgumentException {
+        if (!range.contains(value))
+            throw new IllegalArgumentException(getRangeMsg(range));
+
+        Object raw = section.get(path);
+        if (raw instanceof Integer) {
+            int configValue = (Integer) raw;
+            if (range.contains(configValue))
+                return configValue;
+            if (errorType != ConsoleErrorType.NONE)
+                this.attemptConsoleMsg(errorType, section, path, value, getRangeMsg(range), String.valueOf(range));
+            return value;
+        }
+        if (errorType != ConsoleErrorType.NONE)
+            this.attemptConsoleMsg(errorType, section, path, value, raw == null ? noPathMsg : intMsg, "int");
+        return value;
+    }
+
+    /**
+     * Checks an integer within the given range.
+     * <p>Unlike the Range variant this neither boxes values nor builds any msg unless a check fails and errorType is not NONE.
+     * @param section the section to check
+     * @param path the path within the section
+     * @param errorType the ConsoleErrorType (controls console msg)
+     * @param range range config value or value must be element of
+     * @return true if set correctly and in range, false otherwise
+     */
+    public boolean checkInt(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final IntRange range) {
+        Object raw = section.get(path);
+        if (raw instanceof Integer) {
+            if (range.contains((Integer) raw))
+                return true;
+            if (errorType != ConsoleErrorType.NONE)
+                this.attemptConsoleMsg(errorType, section, path, null, getRangeMsg(range), String.valueOf(range));
+            return false;
+        }
+        if (errorType != ConsoleErrorType.NONE)
+            this.attemptConsoleMsg(errorType, section, path, null, raw == null ? noPathMsg : intMsg, "int");
+        return false;
+    }
+
     /**
      * Checks a double, returning a default value if not found.
      * @param section the section to check
@@ -267,12 +614,12 @@ public class ConfigChecker {
 
         if (section.contains(path)) {
             if (!(section.isDouble(path) || (section.isInt(path) && !forceDouble))) {
-                this.attemptConsoleMsg(errorType, section,path, value, doubleMsg);
+                this.attemptConsoleMsg(errorType, section,path, value, doubleMsg, "double");
                 return value;
             }
             return section.getDouble(path);
         }
-        this.attemptConsoleMsg(errorType, section, path, value, noPathMsg);
+        this.attemptConsoleMsg(errorType, section, path, value, noPathMsg, "double");
         return value;
     }
 
@@ -318,12 +665,12 @@ public class ConfigChecker {
 
         if (section.contains(path)) {
             if (!(section.isDouble(path) || (section.isInt(path) && !forceDouble))) {
-                this.attemptConsoleMsg(errorType, section,path, null, doubleMsg);
+                this.attemptConsoleMsg(errorType, section,path, null, doubleMsg, "double");
                 return false;
             }
             return true;
         }
-        this.attemptConsoleMsg(errorType, section, path, null, noPathMsg);
+        this.attemptConsoleMsg(errorType, section, path, null, noPathMsg, "double");
         return false;
     }
 
@@ -357,7 +704,7 @@ public class ConfigChecker {
         if (range.contains(testValue)) {
             return testValue;
         } else {
-            this.attemptConsoleMsg(errorType, section, path, value, getRangeMsg(range));
+            this.attemptConsoleMsg(errorType, section, path, value, getRangeMsg(range), String.valueOf(range));
             return value;
         }
     }
@@ -403,7 +750,7 @@ public class ConfigChecker {
     public boolean checkDouble(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final Range<Double> range, final boolean forceDouble) {
         boolean configStatus = this.checkDouble(section, path, errorType, forceDouble);
         if (configStatus && !range.contains(section.getDouble(path))) {
-            this.attemptConsoleMsg(errorType, section, path, null, getRangeMsg(range));
+            this.attemptConsoleMsg(errorType, section, path, null, getRangeMsg(range), String.valueOf(range));
             return false;
         }
         return configStatus;
@@ -418,6 +765,80 @@ public class ConfigChecker {
         return this.checkDouble(section, path, errorType, range, false);
     }
 
+    /**
+     * Checks a double, returning a default value if not found or within the given range.
+     * <p>Unlike the Range variant this neither boxes values nor builds any msg unless a check fails and errorType is not NONE.
+     * @param section the section to check
+     * @param path the path within the section
+     * @param errorType the ConsoleErrorType (controls console msg)
+     * @param value the default value
+     * @param range range config value or value must be element of
+     * @param forceDouble should config value be strictly double?
+     * @return config value if set correctly and in range, value otherwise
+     * @throws IllegalArgumentException if value is not within the given range
+     */
+    public double checkDouble(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, final double value, @NotNull final DoubleRange range, final boolean forceDouble)
+            throws IllegalArgumentException {
+        if (!range.contains(value))
+            throw new IllegalArgumentException(getRangeMsg(range));
+
+        Object raw = section.get(path);
+        if (raw instanceof Double || (raw instanceof Integer && !forceDouble)) {
+            double configValue = ((Number) raw).doubleValue();
+            if (range.contains(configValue))
+                return configValue;
+            if (errorType != ConsoleErrorType.NONE)
+                this.attemptConsoleMsg(errorType, section, path, value, getRangeMsg(range), String.valueOf(range));
+            return value;
+        }
+        if (errorType != ConsoleErrorType.NONE)
+            this.attemptConsoleMsg(errorType, section, path, value, raw == null ? noPathMsg : (forceDouble ? forceDoubleMsg : doubleMsg), forceDouble ? "forceDouble" : "double");
+        return value;
+    }
+
+    /**
+     * Checks a double, returning a default value if not found or within the given range.
+     * <p>This method does not check for a strict double value (forceDouble = false).
+     * @see ConfigChecker#checkDouble(ConfigurationSection, String, ConsoleErrorType, double, DoubleRange, boolean)
+     */
+    public double checkDouble(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, final double value, @NotNull final DoubleRange range)
+            throws IllegalArgumentException {
+        return this.checkDouble(section, path, errorType, value, range, false);
+    }
+
+    /**
+     * Checks a double within the given range.
+     * <p>Unlike the Range variant this neither boxes values nor builds any msg unless a check fails and errorType is not NONE.
+     * @param section the section to check
+     * @param path the path within the section
+     * @param errorType the ConsoleErrorType (controls console msg)
+     * @param range range config value or value must be element of
+     * @param forceDouble should config value be strictly double?
+     * @return true if set correctly and in range, false otherwise
+     */
+    public boolean checkDouble(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final DoubleRange range, final boolean forceDouble) {
+        Object raw = section.get(path);
+        if (raw instanceof Double || (raw instanceof Integer && !forceDouble)) {
+            if (range.contains(((Number) raw).doubleValue()))
+                return true;
+            if (errorType != ConsoleErrorType.NONE)
+                this.attemptConsoleMsg(errorType, section, path, null, getRangeMsg(range), String.valueOf(range));
+            return false;
+        }
+        if (errorType != ConsoleErrorType.NONE)
+            this.attemptConsoleMsg(errorType, section, path, null, raw == null ? noPathMsg : (forceDouble ? forceDoubleMsg : doubleMsg), forceDouble ? "forceDouble" : "double");
+        return false;
+    }
+
+    /**
+     * Checks a double within the given range.
+     * <p>This method does not check for a strict double value (forceDouble = false).
+     * @see ConfigChecker#checkDouble(ConfigurationSection, String, ConsoleErrorType, DoubleRange, boolean)
+     */
+    public boolean checkDouble(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final DoubleRange range) {
+        return this.checkDouble(section, path, errorType, range, false);
+    }
+
     /**
      * Checks a long, returning a default value if not found.
      * @param section the section to check
@@ -436,12 +857,12 @@ public class ConfigChecker {
 
         if (section.contains(path)) {
             if (!(section.isLong(path) || (section.isInt(path) && !forceLong))) {
-                this.attemptConsoleMsg(errorType, section, path, value, longMsg);
+                this.attemptConsoleMsg(errorType, section, path, value, longMsg, "long");
                 return value;
             }
             return section.getLong(path);
         }
-        this.attemptConsoleMsg(errorType, section, path, value, noPathMsg);
+        this.attemptConsoleMsg(errorType, section, path, value, noPathMsg, "long");
         return value;
     }
 
@@ -488,12 +909,12 @@ public class ConfigChecker {
 
         if (section.contains(path)) {
             if (!(section.isLong(path) || (section.isInt(path) && !forceLong))) {
-                this.attemptConsoleMsg(errorType, section, path, null, longMsg);
+                this.attemptConsoleMsg(errorType, section, path, null, longMsg, "long");
                 return false;
             }
             return true;
         }
-        this.attemptConsoleMsg(errorType, section, path, null, noPathMsg);
+        this.attemptConsoleMsg(errorType, section, path, null, noPathMsg, "long");
         return false;
     }
 
@@ -526,7 +947,7 @@ public class ConfigChecker {
         if (range.contains(testValue)) {
             return testValue;
         } else {
-            this.attemptConsoleMsg(errorType, section, path, value, getRangeMsg(range));
+            this.attemptConsoleMsg(errorType, section, path, value, getRangeMsg(range), String.valueOf(range));
             return value;
         }
     }
@@ -572,7 +993,7 @@ public class ConfigChecker {
     public boolean checkLong(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final Range<Long> range, final boolean forceLong) {
         boolean configStatus = this.checkDouble(section, path, errorType, forceLong);
         if (configStatus && !range.contains(section.getLong(path))) {
-            this.attemptConsoleMsg(errorType, section, path, null, getRangeMsg(range));
+            this.attemptConsoleMsg(errorType, section, path, null, getRangeMsg(range), String.valueOf(range));
             return false;
         }
         return configStatus;
@@ -587,6 +1008,80 @@ public class ConfigChecker {
         return this.checkLong(section, path, errorType, range, false);
     }
 
+    /**
+     * Checks a long, returning a default value if not found or within the given range.
+     * <p>Unlike the Range variant this neither boxes values nor builds any msg unless a check fails and errorType is not NONE.
+     * @param section the section to check
+     * @param path the path within the section
+     * @param errorType the ConsoleErrorType (controls console msg)
+     * @param value the default value
+     * @param range range config value or value must be element of
+     * @param forceLong should config value be strictly long?
+     * @return config value if set correctly and in range, value otherwise
+     * @throws IllegalArgumentException if value is not within the given range
+     */
+    public long checkLong(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, final long value, @NotNull final LongRange range, final boolean forceLong)
+            throws IllegalArgumentException {
+        if (!range.contains(value))
+            throw new IllegalArgumentException(getRangeMsg(range));
+
+        Object raw = section.get(path);
+        if (raw instanceof Long || (raw instanceof Integer && !forceLong)) {
+            long configValue = ((Number) raw).longValue();
+            if (range.contains(configValue))
+                return configValue;
+            if (errorType != ConsoleErrorType.NONE)
+                this.attemptConsoleMsg(errorType, section, path, value, getRangeMsg(range), String.valueOf(range));
+            return value;
+        }
+        if (errorType != ConsoleErrorType.NONE)
+            this.attemptConsoleMsg(errorType, section, path, value, raw == null ? noPathMsg : (forceLong ? forceLongMsg : longMsg), forceLong ? "forceLong" : "long");
+        return value;
+    }
+
+    /**
+     * Checks a long, returning a default value if not found or within the given range.
+     * <p>This method does not check for a strict long value (forceLong = false).
+     * @see ConfigChecker#checkLong(ConfigurationSection, String, ConsoleErrorType, long, LongRange, boolean)
+     */
+    public long checkLong(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, final long value, @NotNull final LongRange range)
+            throws IllegalArgumentException {
+        return this.checkLong(section, path, errorType, value, range, false);
+    }
+
+    /**
+     * Checks a long within the given range.
+     * <p>Unlike the Range variant this neither boxes values nor builds any msg unless a check fails and errorType is not NONE.
+     * @param section the section to check
+     * @param path the path within the section
+     * @param errorType the ConsoleErrorType (controls console msg)
+     * @param range range config value or value must be element of
+     * @param forceLong should config value be strictly long?
+     * @return true if set correctly and in range, false otherwise
+     */
+    public boolean checkLong(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final LongRange range, final boolean forceLong) {
+        Object raw = section.get(path);
+        if (raw instanceof Long || (raw instanceof Integer && !forceLong)) {
+            if (range.contains(((Number) raw).longValue()))
+                return true;
+            if (errorType != ConsoleErrorType.NONE)
+                this.attemptConsoleMsg(errorType, section, path, null, getRangeMsg(range), String.valueOf(range));
+            return false;
+        }
+        if (errorType != ConsoleErrorType.NONE)
+            this.attemptConsoleMsg(errorType, section, path, null, raw == null ? noPathMsg : (forceLong ? forceLongMsg : longMsg), forceLong ? "forceLong" : "long");
+        return false;
+    }
+
+    /**
+     * Checks a long within the given range.
+     * <p>This method does not check for a strict long value (forceLong = false).
+     * @see ConfigChecker#checkLong(ConfigurationSection, String, ConsoleErrorType, LongRange, boolean)
+     */
+    public boolean checkLong(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final LongRange range) {
+        return this.checkLong(section, path, errorType, range, false);
+    }
+
 
     /**
      * Checks a string, returning a default value if not found.
@@ -601,12 +1096,12 @@ public class ConfigChecker {
     public String checkString(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @Nullable String value) {
         if (section.contains(path)) {
             if (!section.isString(path)) {
-                this.attemptConsoleMsg(errorType, section, path, value, stringMsg);
+                this.attemptConsoleMsg(errorType, section, path, value, stringMsg, "string");
                 return value;
             }
             return section.getString(path);
         }
-        this.attemptConsoleMsg(errorType, section, path, value, noPathMsg);
+        this.attemptConsoleMsg(errorType, section, path, value, noPathMsg, "string");
         return value;
     }
 
@@ -620,12 +1115,12 @@ public class ConfigChecker {
     public boolean checkString(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType) {
         if (section.contains(path)) {
             if (!section.isString(path)) {
-                this.attemptConsoleMsg(errorType, section, path, null, stringMsg);
+                this.attemptConsoleMsg(errorType, section, path, null, stringMsg, "string");
                 return false;
             }
             return true;
         }
-        this.attemptConsoleMsg(errorType, section, path, null, noPathMsg);
+        this.attemptConsoleMsg(errorType, section, path, null, noPathMsg, "string");
         return false;
     }
 
@@ -640,12 +1135,12 @@ public class ConfigChecker {
     public ConfigurationSection checkConfigSection(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType) {
         if (section.contains(path)) {
             if (!section.isConfigurationSection(path)) {
-                this.attemptConsoleMsg(errorType, section, path, null, configSectionMsg);
+                this.attemptConsoleMsg(errorType, section, path, null, configSectionMsg, "section");
                 return null;
             }
             return section.getConfigurationSection((path));
         }
-        this.attemptConsoleMsg(errorType, section, path, null, noPathMsg);
+        this.attemptConsoleMsg(errorType, section, path, null, noPathMsg, "section");
         return null;
     }
 
@@ -663,17 +1158,15 @@ public class ConfigChecker {
     @Nullable
     public <T extends ConfigurationSerializableCheckable> T checkSerializable(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final Class<T> clazz, final boolean overwriteValues) {
         if (!section.contains(path)) {
-            this.attemptConsoleMsg(errorType, section, path, " of " + clazz.getSimpleName(), noPathMsg);
+            this.attemptConsoleMsg(errorType, section, path, " of " + clazz.getSimpleName(), noPathMsg, clazz.getSimpleName());
             return null;
         }
         T retValue = section.getSerializable(path, clazz);
         if (retValue == null) {
-            this.attemptConsoleMsg(errorType, section, path, " of " + clazz.getSimpleName(), "values are seriously incorrect (data types are wrong).");
+            this.attemptConsoleMsg(errorType, section, path, " of " + clazz.getSimpleName(), "values are seriously incorrect (data types are wrong).", clazz.getSimpleName());
             return null;
         } else {
-            if (!retValue.checkValues(this, section, path, errorType, overwriteValues) && overwriteValues) {
-                this.attemptConsoleMsg(errorType, section, path, null, "At least one value got overwritten.");
-            }
+            this.checkValues(retValue, section, path, errorType, overwriteValues);
             return retValue;
         }
     }
@@ -692,22 +1185,145 @@ public class ConfigChecker {
     @NotNull
     public <T extends ConfigurationSerializableCheckable> T checkSerializable(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final T value, final boolean overwriteValues) {
         if (!section.contains(path)) {
-            this.attemptConsoleMsg(errorType, section, path, " of " + value.getClass().getSimpleName(), noPathMsg);
+            this.attemptConsoleMsg(errorType, section, path, " of " + value.getClass().getSimpleName(), noPathMsg, value.getClass().getSimpleName());
             return value;
         }
         @SuppressWarnings("unchecked")
         T retValue = (T) section.getSerializable(path, value.getClass());
         if (retValue == null) {
-            this.attemptConsoleMsg(errorType, section, path, " of " + value.getClass().getSimpleName(), "values are seriously incorrect (data types are wrong).");
+            this.attemptConsoleMsg(errorType, section, path, " of " + value.getClass().getSimpleName(), "values are seriously incorrect (data types are wrong).", value.getClass().getSimpleName());
             return value;
         } else {
-            if (!retValue.checkValues(this, section, path, errorType, overwriteValues) && overwriteValues) {
-                this.attemptConsoleMsg(errorType, section, path, null, "At least one value got overwritten.");
-            }
+            this.checkValues(retValue, section, path, errorType, overwriteValues);
             return retValue;
         }
     }
 
+    private void checkValues(@NotNull final ConfigurationSerializableCheckable value, @NotNull final ConfigurationSection section, @NotNull final String path,
+                             @NotNull final ConsoleErrorType errorType, final boolean overwriteValues) {
+        if (!value.checkValues(this, section, path, errorType, overwriteValues) && overwriteValues) {
+            this.attemptConsoleMsg(errorType, section, path, null, "At least one value got overwritten.");
+        }
+    }
+
+    /**
+     * Gets all ConfigurationSerializableCheckables of a section, checking them in parallel.
+     * <p>This uses the common ForkJoinPool.
+     * @see ConfigChecker#checkSerializables(ConfigurationSection, ConsoleErrorType, Class, boolean, ForkJoinPool)
+     */
+    @NotNull
+    public <T extends ConfigurationSerializableCheckable> Map<String, T> checkSerializables(@NotNull final ConfigurationSection section, @NotNull final ConsoleErrorType errorType,
+                                                                                           @NotNull final Class<T> clazz, final boolean overwriteValues) {
+        return this.checkSerializables(section, errorType, clazz, overwriteValues, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Gets all ConfigurationSerializableCheckables of a section, i. e. every direct child, checking them in parallel.
+     * <p>Every child is checked like {@link ConfigChecker#checkSerializable(ConfigurationSection, String, ConsoleErrorType, Class, boolean)} does, using its own ConfigChecker which collects console msgs.
+     * Afterwards the msgs are sent (or added to the current report) in order of the section's keys, so the output does not depend on scheduling.
+     * <p>Checkables returning false on {@link ConfigurationSerializableCheckable#isParallelCheckable()} are checked sequentially within the calling thread after the parallel ones.
+     * <p>Note: The checkers used in parallel are plain ConfigCheckers, i. e. overridden methods of subclasses are not used.
+     * @param section the section to check
+     * @param errorType the ConsoleErrorType (controls console msg)
+     * @param clazz the serializable class
+     * @param overwriteValues should values get overwritten?
+     * @param pool the pool to check within
+     * @param <T> the type of ConfigurationSerializableCheckable
+     * @return the config values (if data-types are set correctly) by key in order of the section's keys
+     */
+    @NotNull
+    public <T extends ConfigurationSerializableCheckable> Map<String, T> checkSerializables(@NotNull final ConfigurationSection section, @NotNull final ConsoleErrorType errorType,
+                                                                                           @NotNull final Class<T> clazz, final boolean overwriteValues, @NotNull final ForkJoinPool pool) {
+        List<String> keys = new ArrayList<>(section.getKeys(false));
+        List<T> values = new ArrayList<>(keys.size());
+        ConfigChecker[] checkers = new ConfigChecker[keys.size()];
+        boolean[] deferred = new boolean[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            values.add(null);
+            checkers[i] = this.fork();
+        }
+
+        pool.invoke(new SerializablesTask<>(section, errorType, clazz, overwriteValues, keys, values, checkers, deferred, 0, keys.size()));
+
+        Map<String, T> map = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            T value = values.get(i);
+            if (deferred[i])
+                checkers[i].checkValues(value, section, keys.get(i), errorType, overwriteValues);
+            if (value != null)
+                map.put(keys.get(i), value);
+
+            ConfigReport forkReport = checkers[i].report;
+            if (report != null) {
+                report.addAll(forkReport.getDiagnostics());
+            } else {
+                for (ConfigDiagnostic diagnostic : forkReport.getDiagnostics()) {
+                    diagnostic.send(this);
+                }
+            }
+        }
+        return map;
+    }
+
+    @NotNull
+    private ConfigChecker fork() {
+        return new ConfigChecker(this);
+    }
+
+    private static final class SerializablesTask<T extends ConfigurationSerializableCheckable> extends RecursiveAction {
+
+        private static final int THRESHOLD = 16;
+
+        private final ConfigurationSection section;
+        private final ConsoleErrorType errorType;
+        private final Class<T> clazz;
+        private final boolean overwriteValues;
+        private final List<String> keys;
+        private final List<T> values;
+        private final ConfigChecker[] checkers;
+        private final boolean[] deferred;
+        private final int from;
+        private final int to;
+
+        private SerializablesTask(@NotNull final ConfigurationSection section, @NotNull final ConsoleErrorType errorType, @NotNull final Class<T> clazz, final boolean overwriteValues,
+                                  @NotNull final List<String> keys, @NotNull final List<T> values, @NotNull final ConfigChecker[] checkers, @NotNull final boolean[] deferred,
+                                  final int from, final int to) {
+            this.section = section;
+            this.errorType = errorType;
+            this.clazz = clazz;
+            this.overwriteValues = overwriteValues;
+            this.keys = keys;
+            this.values = values;
+            this.checkers = checkers;
+            this.deferred = deferred;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SerializablesTask<>(section, errorType, clazz, overwriteValues, keys, values, checkers, deferred, from, middle),
+                        new SerializablesTask<>(section, errorType, clazz, overwriteValues, keys, values, checkers, deferred, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                String path = keys.get(i);
+                T value = section.getSerializable(path, clazz);
+                if (value == null) {
+                    checkers[i].attemptConsoleMsg(errorType, section, path, " of " + clazz.getSimpleName(), "values are seriously incorrect (data types are wrong).", clazz.getSimpleName());
+                    continue;
+                }
+                values.set(i, value);
+                if (value.isParallelCheckable())
+                    checkers[i].checkValues(value, section, path, errorType, overwriteValues);
+                else
+                    deferred[i] = true;
+            }
+        }
+    }
+
     /**
      * Checks a vector, returning a default value if not found.
      * <p>Note: This method might be null if config value is not set correctly and the default value is null.
@@ -721,12 +1337,12 @@ public class ConfigChecker {
     public Vector checkVector(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull ConsoleErrorType errorType, @Nullable Vector value) {
         if (section.contains(path)) {
             if (!section.isVector(path)) {
-                this.attemptConsoleMsg(errorType, section, path, value, vectorMsg);
+                this.attemptConsoleMsg(errorType, section, path, value, vectorMsg, "vector");
                 return value;
             }
             return section.getVector(path);
         }
-        this.attemptConsoleMsg(errorType, section, path, value, noPathMsg);
+        this.attemptConsoleMsg(errorType, section, path, value, noPathMsg, "vector");
         return value;
     }
 
@@ -740,15 +1356,221 @@ public class ConfigChecker {
     public boolean checkVector(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull ConsoleErrorType errorType) {
         if (section.contains(path)) {
             if (!section.isVector(path)) {
-                this.attemptConsoleMsg(errorType, section, path, null, intMsg);
+                this.attemptConsoleMsg(errorType, section, path, null, intMsg, "vector");
                 return false;
             }
             return true;
         }
-        this.attemptConsoleMsg(errorType, section, path, null, noPathMsg);
+        this.attemptConsoleMsg(errorType, section, path, null, noPathMsg, "vector");
         return false;
     }
 
+    // =================================================================
+    // LIST CHECKER
+    // =================================================================
+
+    /**
+     * Checks an integer list, returning a default value if not found.
+     * @see ConfigChecker#checkIntList(ConfigurationSection, String, ConsoleErrorType, int[], IntRange)
+     */
+    @NotNull
+    public int[] checkIntList(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final int[] value) {
+        return this.checkIntList(section, path, errorType, value, IntRange.all());
+    }
+
+    /**
+     * Checks an integer list in one pass, returning a default value if not found.
+     * <p>Elements which are no integers or not within the range are skipped, sending a console msg for their index (e. g. path[3]).
+     * No values are boxed and no msgs are built unless a check fails and errorType is not NONE.
+     * @param section the section to check
+     * @param path the path within the section
+     * @param errorType the ConsoleErrorType (controls console msg)
+     * @param value the default value (returned as is)
+     * @param range range every element must be element of
+     * @return the valid elements if config value is a list, value otherwise
+     */
+    @NotNull
+    public int[] checkIntList(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final int[] value,
+                              @NotNull final IntRange range) {
+        List<?> list = this.getList(section, path, errorType);
+        if (list == null)
+            return value;
+
+        int[] array = new int[list.size()];
+        int size = 0;
+        for (int i = 0; i < list.size(); i++) {
+            Object element = list.get(i);
+            if (!(element instanceof Integer)) {
+                this.attemptElementMsg(errorType, section, path, i, intMsg, "int");
+            } else if (!range.contains((Integer) element)) {
+                if (errorType != ConsoleErrorType.NONE)
+                    this.attemptElementMsg(errorType, section, path, i, getRangeMsg(range), String.valueOf(range));
+            } else {
+                array[size++] = (Integer) element;
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Checks a long list, returning a default value if not found.
+     * <p>This method does not check for strict long values (forceLong = false).
+     * @see ConfigChecker#checkLongList(ConfigurationSection, String, ConsoleErrorType, long[], LongRange, boolean)
+     */
+    @NotNull
+    public long[] checkLongList(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final long[] value) {
+        return this.checkLongList(section, path, errorType, value, LongRange.all(), false);
+    }
+
+    /**
+     * Checks a long list, returning a default value if not found.
+     * <p>This method does not check for strict long values (forceLong = false).
+     * @see ConfigChecker#checkLongList(ConfigurationSection, String, ConsoleErrorType, long[], LongRange, boolean)
+     */
+    @NotNull
+    public long[] checkLongList(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final long[] value,
+                                @NotNull final LongRange range) {
+        return this.checkLongList(section, path, errorType, value, range, false);
+    }
+
+    /**
+     * Checks a long list in one pass, returning a default value if not found.
+     * <p>Elements which are no longs or not within the range are skipped, sending a console msg for their index (e. g. path[3]).
+     * No values are boxed and no msgs are built unless a check fails and errorType is not NONE.
+     * @param section the section to check
+     * @param path the path within the section
+     * @param errorType the ConsoleErrorType (controls console msg)
+     * @param value the default value (returned as is)
+     * @param range range every element must be element of
+     * @param forceLong should elements be strictly long?
+     * @return the valid elements if config value is a list, value otherwise
+     */
+    @NotNull
+    public long[] checkLongList(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final long[] value,
+                                @NotNull final LongRange range, final boolean forceLong) {
+        List<?> list = this.getList(section, path, errorType);
+        if (list == null)
+            return value;
+
+        long[] array = new long[list.size()];
+        int size = 0;
+        for (int i = 0; i < list.size(); i++) {
+            Object element = list.get(i);
+            if (!(element instanceof Long || (element instanceof Integer && !forceLong))) {
+                this.attemptElementMsg(errorType, section, path, i, forceLong ? forceLongMsg : longMsg, forceLong ? "forceLong" : "long");
+            } else if (!range.contains(((Number) element).longValue())) {
+                if (errorType != ConsoleErrorType.NONE)
+                    this.attemptElementMsg(errorType, section, path, i, getRangeMsg(range), String.valueOf(range));
+            } else {
+                array[size++] = ((Number) element).longValue();
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Checks a double list, returning a default value if not found.
+     * <p>This method does not check for strict double values (forceDouble = false).
+     * @see ConfigChecker#checkDoubleList(ConfigurationSection, String, ConsoleErrorType, double[], DoubleRange, boolean)
+     */
+    @NotNull
+    public double[] checkDoubleList(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final double[] value) {
+        return this.checkDoubleList(section, path, errorType, value, DoubleRange.all(), false);
+    }
+
+    /**
+     * Checks a double list, returning a default value if not found.
+     * <p>This method does not check for strict double values (forceDouble = false).
+     * @see ConfigChecker#checkDoubleList(ConfigurationSection, String, ConsoleErrorType, double[], DoubleRange, boolean)
+     */
+    @NotNull
+    public double[] checkDoubleList(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final double[] value,
+                                    @NotNull final DoubleRange range) {
+        return this.checkDoubleList(section, path, errorType, value, range, false);
+    }
+
+    /**
+     * Checks a double list in one pass, returning a default value if not found.
+     * <p>Elements which are no doubles or not within the range are skipped, sending a console msg for their index (e. g. path[3]).
+     * No values are boxed and no msgs are built unless a check fails and errorType is not NONE.
+     * @param section the section to check
+     * @param path the path within the section
+     * @param errorType the ConsoleErrorType (controls console msg)
+     * @param value the default value (returned as is)
+     * @param range range every element must be element of
+     * @param forceDouble should elements be strictly double?
+     * @return the valid elements if config value is a list, value otherwise
+     */
+    @NotNull
+    public double[] checkDoubleList(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final double[] value,
+                                    @NotNull final DoubleRange range, final boolean forceDouble) {
+        List<?> list = this.getList(section, path, errorType);
+        if (list == null)
+            return value;
+
+        double[] array = new double[list.size()];
+        int size = 0;
+        for (int i = 0; i < list.size(); i++) {
+            Object element = list.get(i);
+            if (!(element instanceof Double || (element instanceof Integer && !forceDouble))) {
+                this.attemptElementMsg(errorType, section, path, i, forceDouble ? forceDoubleMsg : doubleMsg, forceDouble ? "forceDouble" : "double");
+            } else if (!range.contains(((Number) element).doubleValue())) {
+                if (errorType != ConsoleErrorType.NONE)
+                    this.attemptElementMsg(errorType, section, path, i, getRangeMsg(range), String.valueOf(range));
+            } else {
+                array[size++] = ((Number) element).doubleValue();
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Checks a vector list in one pass, returning a default value if not found.
+     * <p>The vectors are packed into one array as x, y, z of the first vector followed by x, y, z of the second one and so on, i. e. the amount of vectors is length / 3.
+     * Elements which are no vectors are skipped, sending a console msg for their index (e. g. path[3]).
+     * @param section the section to check
+     * @param path the path within the section
+     * @param errorType the ConsoleErrorType (controls console msg)
+     * @param value the default value (packed, returned as is)
+     * @return the packed coordinates of all valid elements if config value is a list, value otherwise
+     */
+    @NotNull
+    public double[] checkVectorList(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType, @NotNull final double[] value) {
+        List<?> list = this.getList(section, path, errorType);
+        if (list == null)
+            return value;
+
+        double[] array = new double[list.size() * 3];
+        int size = 0;
+        for (int i = 0; i < list.size(); i++) {
+            Object element = list.get(i);
+            if (!(element instanceof Vector)) {
+                this.attemptElementMsg(errorType, section, path, i, vectorMsg, "vector");
+                continue;
+            }
+            Vector vector = (Vector) element;
+            array[size++] = vector.getX();
+            array[size++] = vector.getY();
+            array[size++] = vector.getZ();
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    @Nullable
+    private List<?> getList(@NotNull final ConfigurationSection section, @NotNull final String path, @NotNull final ConsoleErrorType errorType) {
+        Object raw = section.get(path);
+        if (raw instanceof List)
+            return (List<?>) raw;
+        this.attemptConsoleMsg(errorType, section, path, null, raw == null ? noPathMsg : listMsg, "list");
+        return null;
+    }
+
+    private void attemptElementMsg(@NotNull final ConsoleErrorType errorType, @NotNull final ConfigurationSection section, @NotNull final String path, final int index,
+                                   @Nullable final String msg, @Nullable final String expected) {
+        if (errorType != ConsoleErrorType.NONE)
+            this.attemptConsoleMsg(errorType, section, path + "[" + index + "]", null, msg + " (element skipped)", expected);
+    }
+
     // =================================================================
     // VALUE CHECKER
     // =================================================================
@@ -769,7 +1591,7 @@ public class ConfigChecker {
     public <T extends Comparable<?>> T checkValue(@NotNull final T checkValue, @Nullable final String sectionPath, @Nullable final String path, @NotNull final ConsoleErrorType errorType, @Nullable final T value, @NotNull final Range<Comparable<?>> range) {
         if (range.contains(checkValue))
             return checkValue;
-        this.attemptConsoleMsg(errorType, sectionPath, path, value, getRangeMsg(range));
+        this.attemptConsoleMsg(errorType, sectionPath, path, value, getRangeMsg(range), String.valueOf(range));
         return value;
     }
 }
\ No newline at end of file
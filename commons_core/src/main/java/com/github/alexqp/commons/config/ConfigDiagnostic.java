@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A problem found while checking a config value.
+ * <p>Diagnostics hold everything {@link ConfigChecker#attemptConsoleMsg(ConsoleErrorType, String, String, Object, String, String)} needs, so they can be sent later or collected.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ConfigDiagnostic {
+
+    private final ConsoleErrorType errorType;
+    private final String sectionPath;
+    private final String path;
+    private final String message;
+    private final Object defaultValue;
+    private final String expected;
+
+    /**
+     * Constructs a diagnostic without an expected value.
+     * @see ConfigDiagnostic#ConfigDiagnostic(ConsoleErrorType, String, String, String, Object, String)
+     */
+    public ConfigDiagnostic(@NotNull final ConsoleErrorType errorType, @Nullable final String sectionPath, @Nullable final String path,
+                            @Nullable final String message, @Nullable final Object defaultValue) {
+        this(errorType, sectionPath, path, message, defaultValue, null);
+    }
+
+    /**
+     * Constructs a diagnostic.
+     * @param errorType the ConsoleErrorType
+     * @param sectionPath the section's current path
+     * @param path the path within the section
+     * @param message the specific error msg
+     * @param defaultValue the used default value (can be null)
+     * @param expected what the value was expected to be, e. g. a type name or a range (can be null)
+     */
+    public ConfigDiagnostic(@NotNull final ConsoleErrorType errorType, @Nullable final String sectionPath, @Nullable final String path,
+                            @Nullable final String message, @Nullable final Object defaultValue, @Nullable final String expected) {
+        this.errorType = errorType;
+        this.sectionPath = sectionPath;
+        this.path = path;
+        this.message = message;
+        this.defaultValue = defaultValue;
+        this.expected = expected;
+    }
+
+    /**
+     * Gets the ConsoleErrorType.
+     * @return the errorType
+     */
+    @NotNull
+    public ConsoleErrorType getErrorType() {
+        return errorType;
+    }
+
+    /**
+     * Gets the section's path.
+     * @return the section's current path
+     */
+    @Nullable
+    public String getSectionPath() {
+        return sectionPath;
+    }
+
+    /**
+     * Gets the path.
+     * @return the path within the section
+     */
+    @Nullable
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the specific error msg.
+     * @return the msg
+     */
+    @Nullable
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Gets the used default value.
+     * @return the default value or null if none was used
+     */
+    @Nullable
+    public Object getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * Gets what the value was expected to be.
+     * <p>This is the name of a {@link ConfigType} (e. g. "int"), a range like "[0, 10]", the simple name of a serializable class or a custom description.
+     * @return the expected value or null if unknown
+     */
+    @Nullable
+    public String getExpected() {
+        return expected;
+    }
+
+    /**
+     * Sends this diagnostic as console msg.
+     * @param checker the checker
+     * @see ConfigChecker#attemptConsoleMsg(ConsoleErrorType, String, String, Object, String, String)
+     */
+    public void send(@NotNull final ConfigChecker checker) {
+        checker.attemptConsoleMsg(errorType, sectionPath, path, defaultValue, message, expected);
+    }
+
+    @Override
+    public String toString() {
+        String string = errorType + " " + sectionPath + ": " + path + " - " + message;
+        return defaultValue == null ? string : string + " (used default value " + defaultValue + " instead)";
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * The paths which differ between two {@link ConfigSnapshot}s.
+ * <p>Paths are relative to the snapshot's section. Added or removed sections are reported by their own path only, not by the paths of their children.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ConfigDiff {
+
+    private final NavigableSet<String> changed;
+
+    private ConfigDiff(@NotNull final NavigableSet<String> changed) {
+        this.changed = changed;
+    }
+
+    /**
+     * Computes the diff between two snapshots.
+     * @param previous the previous snapshot
+     * @param current the current snapshot
+     * @return the diff
+     */
+    @NotNull
+    public static ConfigDiff between(@NotNull final ConfigSnapshot previous, @NotNull final ConfigSnapshot current) {
+        NavigableSet<String> changed = new TreeSet<>();
+        compare("", previous.getValues(), current.getValues(), changed);
+        return new ConfigDiff(changed);
+    }
+
+    private static void compare(@NotNull final String prefix, @NotNull final Map<String, Object> previous, @NotNull final Map<String, Object> current,
+                                @NotNull final NavigableSet<String> changed) {
+        for (Map.Entry<String, Object> entry : previous.entrySet()) {
+            if (!current.containsKey(entry.getKey()))
+                changed.add(prefix + entry.getKey());
+        }
+        for (Map.Entry<String, Object> entry : current.entrySet()) {
+            String path = prefix + entry.getKey();
+            Object previousValue = previous.get(entry.getKey());
+            Object currentValue = entry.getValue();
+            if (previousValue instanceof ConfigSnapshot.Section && currentValue instanceof ConfigSnapshot.Section) {
+                compare(path + ".", ((ConfigSnapshot.Section) previousValue).getValues(), ((ConfigSnapshot.Section) currentValue).getValues(), changed);
+            } else if (!Objects.equals(previousValue, currentValue) || !previous.containsKey(entry.getKey())) {
+                changed.add(path);
+            }
+        }
+    }
+
+    /**
+     * Gets all changed paths.
+     * @return the added, removed or modified paths in lexicographic order
+     */
+    @NotNull
+    public NavigableSet<String> getChangedPaths() {
+        return Collections.unmodifiableNavigableSet(changed);
+    }
+
+    /**
+     * Checks if nothing changed.
+     * @return true if both snapshots are equal, false otherwise
+     */
+    public boolean isEmpty() {
+        return changed.isEmpty();
+    }
+
+    /**
+     * Checks if a path or its subtree is affected by the changes.
+     * <p>This is the case if the path itself, any of its children or any of its parents changed. The empty path is affected by every change.
+     * @param path the path
+     * @return true if the path is affected, false otherwise
+     */
+    public boolean affects(@NotNull final String path) {
+        if (path.isEmpty())
+            return !changed.isEmpty();
+        if (changed.contains(path))
+            return true;
+        // children sort between "path." and "path/" as '/' directly follows '.'
+        if (!changed.subSet(path + ".", true, path + "/", false).isEmpty())
+            return true;
+        for (int i = path.indexOf('.'); i >= 0; i = path.indexOf('.', i + 1)) {
+            if (changed.contains(path.substring(0, i)))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigDiff" + changed;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes 64-bit fingerprints of config contents.
+ * <p>The fingerprint covers keys, their order and values including their exact type, so e. g. 1 and 1.0 differ.
+ * The fingerprint of a section also covers its default section, as values missing in the section fall back to it.
+ * Values other than sections, lists, maps, strings, numbers and booleans contribute their hashCode.
+ * <p>Note: Equal fingerprints are not a proof of equal contents, but collisions of different contents are very unlikely.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ConfigFingerprint {
+
+    private static final long PRIME = 0x100000001B3L;
+    private static final long SEED = 0xCBF29CE484222325L;
+
+    private ConfigFingerprint() {}
+
+    /**
+     * Computes the fingerprint of a section's contents including its defaults.
+     * @param section the section
+     * @return the fingerprint
+     */
+    public static long of(@NotNull final ConfigurationSection section) {
+        long h = hashSection(SEED, section);
+        // nested default sections are covered by the default section of the top level
+        ConfigurationSection defaults = section.getDefaultSection();
+        h = defaults == null ? mix(h, 'N') : hashSection(mix(h, 'F'), defaults);
+        return finish(h);
+    }
+
+    /**
+     * Computes the fingerprint of a value.
+     * @param value the value (can be null)
+     * @return the fingerprint
+     */
+    public static long of(@Nullable final Object value) {
+        return finish(hash(SEED, value));
+    }
+
+    private static long hashSection(long h, @NotNull final ConfigurationSection section) {
+        h = mix(h, 'S');
+        for (Map.Entry<String, Object> entry : section.getValues(false).entrySet()) {
+            h = hashString(h, entry.getKey());
+            h = hash(h, entry.getValue());
+        }
+        return mix(h, 's');
+    }
+
+    private static long hash(long h, @Nullable final Object value) {
+        if (value == null)
+            return mix(h, 'N');
+        if (value instanceof ConfigurationSection)
+            return hashSection(h, (ConfigurationSection) value);
+        if (value instanceof String)
+            return hashString(mix(h, 'T'), (String) value);
+        if (value instanceof Integer)
+            return mix(mix(h, 'I'), (Integer) value);
+        if (value instanceof Long)
+            return mix(mix(h, 'J'), (Long) value);
+        if (value instanceof Double)
+            return mix(mix(h, 'D'), Double.doubleToLongBits((Double) value));
+        if (value instanceof Boolean)
+            return mix(h, (Boolean) value ? 'Z' : 'z');
+        if (value instanceof List) {
+            h = mix(h, 'L');
+            for (Object element : (List<?>) value) {
+                h = hash(h, element);
+            }
+            return mix(h, 'l');
+        }
+        if (value instanceof Map) {
+            h = mix(h, 'M');
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                h = hash(h, entry.getKey());
+                h = hash(h, entry.getValue());
+            }
+            return mix(h, 'm');
+        }
+        h = hashString(mix(h, 'O'), value.getClass().getName());
+        return mix(h, value.hashCode());
+    }
+
+    private static long hashString(long h, @NotNull final String string) {
+        for (int i = 0; i < string.length(); i++) {
+            h = (h ^ string.charAt(i)) * PRIME;
+        }
+        return mix(h, string.length());
+    }
+
+    private static long mix(final long h, final long value) {
+        return (h ^ value) * PRIME + 0x9E3779B97F4A7C15L;
+    }
+
+    private static long finish(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE1A85EC5L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Range;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A typed handle of one config value for frequent reads, e. g. per event.
+ * <p>The path is split once on construction. The section holding the value is resolved on first access and cached for the last root section passed,
+ * so further reads against the same root cost an identity check and a single lookup. Passing another root resolves the path again.
+ * <p>Note: Sections replaced in place (e. g. by set or by loading a config again) are only detected after {@link ConfigKey#invalidate(ConfigurationSection)},
+ * which {@link ConfigWatcher#reload(ConfigurationSection)} calls for the reloaded section.
+ * @param <T> the java type of the value
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ConfigKey<T> {
+
+    private static final Set<ConfigKey<?>> KEYS = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
+    private final String path;
+    private final String[] keys;
+    private final ConfigType<T> type;
+    private final ConsoleErrorType errorType;
+    private final T defaultValue;
+    private final Predicate<? super T> constraint;
+    private final String constraintMsg;
+    private final String constraintExpected;
+
+    private volatile Resolved cache;
+
+    private ConfigKey(@NotNull final String path, @NotNull final ConfigType<T> type, @NotNull final ConsoleErrorType errorType, @Nullable final T defaultValue,
+                      @Nullable final Predicate<? super T> constraint, @Nullable final String constraintMsg, @Nullable final String constraintExpected)
+            throws IllegalArgumentException {
+        if (defaultValue != null && constraint != null && !constraint.test(defaultValue))
+            throw new IllegalArgumentException(constraintMsg);
+        this.path = path;
+        this.keys = path.split("\\.");
+        this.type = type;
+        this.errorType = errorType;
+        this.defaultValue = defaultValue;
+        this.constraint = constraint;
+        this.constraintMsg = constraintMsg;
+        this.constraintExpected = constraintExpected;
+        KEYS.add(this);
+    }
+
+    /**
+     * Creates a key.
+     * @param path the path within the resolved section
+     * @param type the type
+     * @param errorType the ConsoleErrorType (controls console msg of {@link ConfigKey#check(ConfigChecker, ConfigurationSection)})
+     * @param value the default value (can be null)
+     * @param <T> the java type of the value
+     * @return the key
+     */
+    @NotNull
+    public static <T> ConfigKey<T> of(@NotNull final String path, @NotNull final ConfigType<T> type, @NotNull final ConsoleErrorType errorType, @Nullable final T value) {
+        return new ConfigKey<>(path, type, errorType, value, null, null, null);
+    }
+
+    /**
+     * Creates a key of a value within a range.
+     * @param path the path within the resolved section
+     * @param type the type
+     * @param errorType the ConsoleErrorType (controls console msg of {@link ConfigKey#check(ConfigChecker, ConfigurationSection)})
+     * @param value the default value (can be null)
+     * @param range range config value or value must be element of
+     * @param <T> the java type of the value
+     * @return the key
+     * @throws IllegalArgumentException if value is not within the given range
+     */
+    @NotNull
+    public static <T extends Comparable<?>> ConfigKey<T> of(@NotNull final String path, @NotNull final ConfigType<T> type, @NotNull final ConsoleErrorType errorType,
+                                                            @Nullable final T value, @NotNull final Range<T> range) throws IllegalArgumentException {
+        return new ConfigKey<>(path, type, errorType, value, range::contains, ConfigChecker.getRangeMsg(range), range.toString());
+    }
+
+    /**
+     * Invalidates the cached sections of all keys resolved against a root section.
+     * <p>This is needed after the root's structure was modified in place. Passing another root invalidates the cache anyway.
+     * @param root the root section
+     */
+    public static void invalidate(@NotNull final ConfigurationSection root) {
+        for (ConfigKey<?> key : KEYS) {
+            Resolved resolved = key.cache;
+            if (resolved != null && resolved.root == root)
+                key.cache = null;
+        }
+    }
+
+    /**
+     * Gets a value without sending any console msgs.
+     * @param section the section to resolve the path within
+     * @return config value (if set correctly and fulfilling the range) or the default value
+     */
+    @Nullable
+    public T get(@NotNull final ConfigurationSection section) {
+        Object raw = this.getRaw(section);
+        if (raw != null && type.accepts(raw)) {
+            T value = type.convert(raw);
+            if (constraint == null || constraint.test(value))
+                return value;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Checks a value like the corresponding ConfigChecker method.
+     * @param checker the checker
+     * @param section the section to resolve the path within
+     * @return config value (if set correctly and fulfilling the range) or the default value
+     * @see ConfigChecker#attemptConsoleMsg(ConsoleErrorType, String, String, Object, String, String)
+     */
+    @Nullable
+    public T check(@NotNull final ConfigChecker checker, @NotNull final ConfigurationSection section) {
+        Object raw = this.getRaw(section);
+        String msg;
+        String expected = type.getName();
+        if (raw == null) {
+            msg = checker.noPathMsg;
+        } else if (!type.accepts(raw)) {
+            msg = type.getMessage(checker);
+        } else {
+            T value = type.convert(raw);
+            if (constraint == null || constraint.test(value))
+                return value;
+            msg = constraintMsg;
+            expected = constraintExpected;
+        }
+        checker.attemptConsoleMsg(errorType, section, path, defaultValue, msg, expected);
+        return defaultValue;
+    }
+
+    @Nullable
+    private Object getRaw(@NotNull final ConfigurationSection section) {
+        Resolved resolved = cache;
+        if (resolved == null || resolved.root != section) {
+            ConfigurationSection parent = this.resolveParent(section);
+            if (parent == null)
+                return null; // not cached, the sections may be created later
+            resolved = new Resolved(section, parent);
+            cache = resolved;
+        }
+        return resolved.parent.get(keys[keys.length - 1]);
+    }
+
+    @Nullable
+    private ConfigurationSection resolveParent(@NotNull final ConfigurationSection section) {
+        ConfigurationSection current = section;
+        for (int i = 0; i < keys.length - 1; i++) {
+            Object child = current.get(keys[i]);
+            if (!(child instanceof ConfigurationSection))
+                return null;
+            current = (ConfigurationSection) child;
+        }
+        return current;
+    }
+
+    /**
+     * Gets the path.
+     * @return the path within the resolved section
+     */
+    @NotNull
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the type.
+     * @return the type
+     */
+    @NotNull
+    public ConfigType<T> getType() {
+        return type;
+    }
+
+    /**
+     * Gets the ConsoleErrorType.
+     * @return the errorType
+     */
+    @NotNull
+    public ConsoleErrorType getErrorType() {
+        return errorType;
+    }
+
+    /**
+     * Gets the default value.
+     * @return the default value (can be null)
+     */
+    @Nullable
+    public T getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * Gets the constraint (e. g. range).
+     * @return the constraint or null if there is none
+     */
+    @Nullable
+    public Predicate<? super T> getConstraint() {
+        return constraint;
+    }
+
+    /**
+     * Gets the error msg if the constraint is not fulfilled.
+     * @return the msg or null if there is no constraint
+     */
+    @Nullable
+    public String getConstraintMsg() {
+        return constraintMsg;
+    }
+
+    @Nullable
+    String getConstraintExpected() {
+        return constraintExpected;
+    }
+
+    @Override
+    public String toString() {
+        return path + " (" + type + ")";
+    }
+
+    private static final class Resolved {
+
+        private final ConfigurationSection root;
+        private final ConfigurationSection parent;
+
+        private Resolved(@NotNull final ConfigurationSection root, @NotNull final ConfigurationSection parent) {
+            this.root = root;
+            this.parent = parent;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An ordered stack of config layers flattened into one resolved view, e. g. defaults, server-wide config and per-world overrides.
+ * <p>Every layer is checked once on its own (see {@link ConfigSchema#validatePartial(ConfigChecker, ConfigurationSection)}). Afterwards each entry resolves to the value of the highest layer
+ * setting it correctly or to the entry's default value if no layer does. Reads of the resolved view are single array accesses and do not fall through layers.
+ * <p>Setting a layer checks only this layer again and recomputes the resolved view. The view is swapped atomically, i. e. each read is consistent on its own.
+ * Use {@link ConfigLayerStack#view()} to read several values or a value and its source consistently.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ConfigLayerStack {
+
+    private final ConfigChecker checker;
+    private final ConfigSchema schema;
+    private final List<String> layers;
+    private final ConfigValues[] layerValues;
+
+    private volatile View resolved;
+
+    /**
+     * Constructs a stack without any set layer, i. e. every entry resolves to its default value.
+     * @param checker the checker (provides and sends error msgs)
+     * @param schema the schema
+     * @param layers the names of all layers, lowest priority first
+     * @throws IllegalArgumentException if no layers or duplicate names are given
+     */
+    public ConfigLayerStack(@NotNull final ConfigChecker checker, @NotNull final ConfigSchema schema, @NotNull final String... layers) throws IllegalArgumentException {
+        if (layers.length == 0)
+            throw new IllegalArgumentException("at least one layer is needed");
+        if (Arrays.stream(layers).distinct().count() != layers.length)
+            throw new IllegalArgumentException("layer names must be unique");
+        this.checker = checker;
+        this.schema = schema;
+        this.layers = Collections.unmodifiableList(Arrays.asList(layers.clone()));
+        this.layerValues = new ConfigValues[layers.length];
+        this.resolved = this.resolve();
+    }
+
+    /**
+     * Gets the names of all layers.
+     * @return the names, lowest priority first
+     */
+    @NotNull
+    public List<String> getLayers() {
+        return layers;
+    }
+
+    /**
+     * Gets the schema.
+     * @return the schema
+     */
+    @NotNull
+    public ConfigSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Sets (or reloads) a layer, checking it and recomputing the resolved view.
+     * <p>Only values set explicitly within the section are taken into account, its defaults are ignored. Console msgs are sent for values set incorrectly within this layer only.
+     * @param layer the layer's name
+     * @param section the layer's section or null to remove the layer
+     * @throws IllegalArgumentException if the layer does not exist
+     */
+    public synchronized void setLayer(@NotNull final String layer, @Nullable final ConfigurationSection section) throws IllegalArgumentException {
+        int index = this.getLayerIndex(layer);
+        ConfigValues values = null;
+        if (section != null) {
+            values = schema.validatePartial(checker, section);
+            values.sendDiagnostics(checker);
+        }
+        layerValues[index] = values;
+        this.resolved = this.resolve();
+    }
+
+    @NotNull
+    private View resolve() {
+        ConfigValues values = new ConfigValues(schema);
+        int[] sources = new int[schema.size()];
+        for (ConfigSchema.Entry<?> entry : schema.getEntries()) {
+            int ordinal = entry.getOrdinal();
+            int source = layerValues.length - 1;
+            while (source >= 0 && (layerValues[source] == null || !layerValues[source].isValid(entry))) {
+                source--;
+            }
+            sources[ordinal] = source;
+            if (source >= 0)
+                values.set(ordinal, layerValues[source].get(entry));
+            else
+                values.fail(ordinal, entry.getDefaultValue(), null);
+        }
+        return new View(values, sources);
+    }
+
+    private int getLayerIndex(@NotNull final String layer) throws IllegalArgumentException {
+        int index = layers.indexOf(layer);
+        if (index < 0)
+            throw new IllegalArgumentException("layer " + layer + " does not exist");
+        return index;
+    }
+
+    /**
+     * Gets a resolved value.
+     * @param entry the entry
+     * @param <T> the java type of the value
+     * @return the value of the highest layer setting it correctly or the entry's default value
+     * @throws IllegalArgumentException if the entry does not belong to the schema
+     */
+    @Nullable
+    public <T> T get(@NotNull final ConfigSchema.Entry<T> entry) throws IllegalArgumentException {
+        return resolved.get(entry);
+    }
+
+    /**
+     * Gets the layer a resolved value comes from.
+     * @param entry the entry
+     * @return the layer's name or null if the entry's default value is used
+     * @throws IllegalArgumentException if the entry does not belong to the schema
+     */
+    @Nullable
+    public String getSource(@NotNull final ConfigSchema.Entry<?> entry) throws IllegalArgumentException {
+        return resolved.getSource(entry);
+    }
+
+    /**
+     * Gets the whole resolved view.
+     * <p>Values are valid unless the entry's default value is used. The view can be passed to {@link CompiledConfigStore#update(ConfigValues)}.
+     * @return the resolved values
+     */
+    @NotNull
+    public ConfigValues getResolvedValues() {
+        return resolved.getValues();
+    }
+
+    /**
+     * Gets the current resolved view. The view is not affected by later changes of layers.
+     * @return the view
+     */
+    @NotNull
+    public View view() {
+        return resolved;
+    }
+
+    /**
+     * Gets the checked values of a layer.
+     * @param layer the layer's name
+     * @return the layer's partial values or null if the layer is not set
+     * @throws IllegalArgumentException if the layer does not exist
+     */
+    @Nullable
+    public synchronized ConfigValues getLayerValues(@NotNull final String layer) throws IllegalArgumentException {
+        return layerValues[this.getLayerIndex(layer)];
+    }
+
+    /**
+     * The resolved values and their sources of one state of the stack.
+     */
+    public final class View {
+
+        private final ConfigValues values;
+        private final int[] sources;
+
+        private View(@NotNull final ConfigValues values, @NotNull final int[] sources) {
+            this.values = values;
+            this.sources = sources;
+        }
+
+        /**
+         * Gets a resolved value.
+         * @param entry the entry
+         * @param <T> the java type of the value
+         * @return the value of the highest layer setting it correctly or the entry's default value
+         * @throws IllegalArgumentException if the entry does not belong to the schema
+         */
+        @Nullable
+        public <T> T get(@NotNull final ConfigSchema.Entry<T> entry) throws IllegalArgumentException {
+            return values.get(entry);
+        }
+
+        /**
+         * Gets the layer a resolved value comes from.
+         * @param entry the entry
+         * @return the layer's name or null if the entry's default value is used
+         * @throws IllegalArgumentException if the entry does not belong to the schema
+         */
+        @Nullable
+        public String getSource(@NotNull final ConfigSchema.Entry<?> entry) throws IllegalArgumentException {
+            if (entry.getSchema() != schema)
+                throw new IllegalArgumentException("entry " + entry + " does not belong to the schema");
+            int source = sources[entry.getOrdinal()];
+            return source < 0 ? null : layers.get(source);
+        }
+
+        /**
+         * Gets all resolved values.
+         * @return the resolved values
+         */
+        @NotNull
+        public ConfigValues getValues() {
+            return values;
+        }
+    }
+}
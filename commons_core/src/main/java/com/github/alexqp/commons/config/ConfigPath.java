@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the config path of a record component or constructor parameter bound by {@link ConfigBinder}.
+ * <p>Record components without this annotation use their name as path.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.RECORD_COMPONENT, ElementType.PARAMETER})
+public @interface ConfigPath {
+
+    /**
+     * The path within the bound section.
+     * @return the path
+     */
+    String value();
+
+    /**
+     * The ConsoleErrorType used if the value is not set correctly.
+     * @return the errorType
+     */
+    ConsoleErrorType errorType() default ConsoleErrorType.WARN;
+
+    /**
+     * Whether doubles and longs must be written as such, i. e. integers are not accepted.
+     * @return true to force the type, false otherwise
+     * @see ConfigType#FORCE_DOUBLE
+     * @see ConfigType#FORCE_LONG
+     */
+    boolean force() default false;
+}
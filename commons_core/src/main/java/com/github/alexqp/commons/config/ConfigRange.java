@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the closed range a numeric value bound by {@link ConfigBinder} must be element of.
+ * <p>Bounds are converted to the component's type. Infinite bounds are omitted.
+ * Bounds of int and long values must be whole numbers within the value's range (for long within &plusmn;2^53), otherwise binding fails with an {@link IllegalArgumentException}.
+ * Primitives whose range excludes 0 require a {@link ConfigDefault}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.RECORD_COMPONENT, ElementType.PARAMETER})
+public @interface ConfigRange {
+
+    /**
+     * The lower bound (inclusive).
+     * @return the lower bound
+     */
+    double min() default Double.NEGATIVE_INFINITY;
+
+    /**
+     * The upper bound (inclusive).
+     * @return the upper bound
+     */
+    double max() default Double.POSITIVE_INFINITY;
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import com.github.alexqp.commons.messages.ConsoleMessage;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects diagnostics of config checks instead of sending each of them as console msg.
+ * <p>A report can be consumed programmatically or sent once, grouped by section, see {@link ConfigReport#send(String)}.
+ * <p>Note: Reports are not thread-safe.
+ * @see ConfigChecker#startReport()
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ConfigReport {
+
+    private final List<ConfigDiagnostic> diagnostics = new ArrayList<>();
+
+    /**
+     * Adds a diagnostic.
+     * <p>Diagnostics of ConsoleErrorType NONE are ignored.
+     * @param diagnostic the diagnostic
+     */
+    public void add(@NotNull final ConfigDiagnostic diagnostic) {
+        if (diagnostic.getErrorType() != ConsoleErrorType.NONE)
+            diagnostics.add(diagnostic);
+    }
+
+    /**
+     * Adds diagnostics.
+     * @param diagnostics the diagnostics
+     * @see ConfigReport#add(ConfigDiagnostic)
+     */
+    public void addAll(@NotNull final Collection<ConfigDiagnostic> diagnostics) {
+        for (ConfigDiagnostic diagnostic : diagnostics) {
+            this.add(diagnostic);
+        }
+    }
+
+    /**
+     * Gets all diagnostics.
+     * @return the diagnostics in the order they were added
+     */
+    @NotNull
+    public List<ConfigDiagnostic> getDiagnostics() {
+        return Collections.unmodifiableList(diagnostics);
+    }
+
+    /**
+     * Gets all diagnostics grouped by section.
+     * @return the diagnostics by section's path, in the order the sections first occurred
+     */
+    @NotNull
+    public Map<String, List<ConfigDiagnostic>> getDiagnosticsBySection() {
+        Map<String, List<ConfigDiagnostic>> map = new LinkedHashMap<>();
+        for (ConfigDiagnostic diagnostic : diagnostics) {
+            map.computeIfAbsent(String.valueOf(diagnostic.getSectionPath()), k -> new ArrayList<>()).add(diagnostic);
+        }
+        return map;
+    }
+
+    /**
+     * Gets the amount of diagnostics.
+     * @return the amount
+     */
+    public int size() {
+        return diagnostics.size();
+    }
+
+    /**
+     * Checks if the report holds no diagnostics.
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return diagnostics.isEmpty();
+    }
+
+    /**
+     * Counts the diagnostics of a ConsoleErrorType.
+     * @param errorType the errorType
+     * @return the amount
+     */
+    public int count(@NotNull final ConsoleErrorType errorType) {
+        int count = 0;
+        for (ConfigDiagnostic diagnostic : diagnostics) {
+            if (diagnostic.getErrorType() == errorType)
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Checks if the report holds at least one diagnostic of ConsoleErrorType ERROR.
+     * @return true if errors are present, false otherwise
+     */
+    public boolean hasErrors() {
+        for (ConfigDiagnostic diagnostic : diagnostics) {
+            if (diagnostic.getErrorType() == ConsoleErrorType.ERROR)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes all diagnostics.
+     */
+    public void clear() {
+        diagnostics.clear();
+    }
+
+    /**
+     * Sends the report as console msgs.
+     * <p>One msg is sent per section, listing every path of it. The msg has the color of its most severe diagnostic.
+     * Nothing is sent if the report is empty.
+     * @param pluginName the plugin's name
+     */
+    public void send(@NotNull final String pluginName) {
+        for (Map.Entry<String, List<ConfigDiagnostic>> entry : this.getDiagnosticsBySection().entrySet()) {
+            ConsoleErrorType errorType = ConsoleErrorType.WARN;
+            StringBuilder builder = new StringBuilder();
+            for (ConfigDiagnostic diagnostic : entry.getValue()) {
+                if (diagnostic.getErrorType() == ConsoleErrorType.ERROR)
+                    errorType = ConsoleErrorType.ERROR;
+                appendLine(builder.append("\n  - "), diagnostic);
+            }
+            ConsoleMessage.send(errorType, pluginName, entry.getValue().size() + " problem(s) in " + entry.getKey() + ":" + builder);
+        }
+    }
+
+    /**
+     * Sends the report as console msgs for a plugin.
+     * @param plugin the plugin
+     * @see ConfigReport#send(String)
+     */
+    public void send(@NotNull final JavaPlugin plugin) {
+        this.send(plugin.getName());
+    }
+
+    /**
+     * Renders the report without colors.
+     * @return the report grouped by section (empty if there are no diagnostics)
+     */
+    @NotNull
+    public String render() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, List<ConfigDiagnostic>> entry : this.getDiagnosticsBySection().entrySet()) {
+            if (builder.length() > 0)
+                builder.append('\n');
+            builder.append(entry.getKey()).append(':');
+            for (ConfigDiagnostic diagnostic : entry.getValue()) {
+                appendLine(builder.append("\n  - [").append(diagnostic.getErrorType()).append("] "), diagnostic);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static void appendLine(@NotNull final StringBuilder builder, @NotNull final ConfigDiagnostic diagnostic) {
+        builder.append(diagnostic.getPath()).append(": ").append(diagnostic.getMessage());
+        Object value = diagnostic.getDefaultValue();
+        if (value != null)
+            builder.append(" (used default value ").append(value).append(" instead)");
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigReport{" + diagnostics.size() + " diagnostic(s)}";
+    }
+}
@@ -0,0 +1,412 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import com.google.common.collect.Range;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A compiled set of config values to check, declared once and validated on every (re)load.
+ * <p>Where every ConfigChecker call resolves its dotted path on its own (once for contains, once for isX and once for getX), a schema splits all paths once and arranges them as tree.
+ * {@link ConfigSchema#validate(ConfigChecker, ConfigurationSection)} walks this tree together with the section, visiting every involved section and value exactly once.
+ * <p>Values are checked exactly like the corresponding ConfigChecker methods do, see {@link ConfigType}.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ConfigSchema {
+
+    private final List<Entry<?>> entries;
+    private final Node root;
+
+    private ConfigSchema(@NotNull final List<Entry<?>> entries, @NotNull final Node root) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.root = root;
+    }
+
+    /**
+     * Gets all entries.
+     * @return the entries in declaration order
+     */
+    @NotNull
+    public List<Entry<?>> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets the amount of entries.
+     * @return the amount of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Checks all entries within a section.
+     * <p>No console msgs are sent, see {@link ConfigValues#sendDiagnostics(ConfigChecker)}.
+     * @param checker the checker (provides error msgs)
+     * @param section the section to check
+     * @return the checked values and diagnostics
+     */
+    @NotNull
+    public ConfigValues validate(@NotNull final ConfigChecker checker, @NotNull final ConfigurationSection section) {
+        ConfigValues values = new ConfigValues(this);
+        this.walk(root, section, section.getCurrentPath(), checker, values, null, null);
+        return values;
+    }
+
+    /**
+     * Checks all entries within a section which might omit values, e. g. an override layer.
+     * <p>Only values set explicitly within the section are checked, the section's defaults (see {@link ConfigurationSection#isSet(String)}) are ignored.
+     * Missing values are neither errors nor replaced by default values, i. e. they are just not valid. Values set incorrectly are reported without default value.
+     * No console msgs are sent, see {@link ConfigValues#sendDiagnostics(ConfigChecker)}.
+     * @param checker the checker (provides error msgs)
+     * @param section the section to check
+     * @return the checked values and diagnostics
+     * @see ConfigLayerStack
+     */
+    @NotNull
+    public ConfigValues validatePartial(@NotNull final ConfigChecker checker, @NotNull final ConfigurationSection section) {
+        ConfigValues values = new ConfigValues(this, true);
+        this.walk(root, section, section.getCurrentPath(), checker, values, null, null);
+        return values;
+    }
+
+    /**
+     * Checks only entries affected by changes within a section.
+     * <p>Values and diagnostics of unaffected entries are taken from the previous result, whole unaffected subtrees are skipped.
+     * No console msgs are sent, see {@link ConfigValues#sendDiagnostics(ConfigChecker)}.
+     * @param checker the checker (provides error msgs)
+     * @param section the section to check
+     * @param previous the previous result of this schema
+     * @param diff the changes of section since previous was computed
+     * @return the checked values and diagnostics
+     * @throws IllegalArgumentException if previous does not belong to this schema
+     * @see ConfigDiff#affects(String)
+     */
+    @NotNull
+    public ConfigValues validate(@NotNull final ConfigChecker checker, @NotNull final ConfigurationSection section, @NotNull final ConfigValues previous,
+                                 @NotNull final ConfigDiff diff) throws IllegalArgumentException {
+        if (previous.getSchema() != this)
+            throw new IllegalArgumentException("previous values do not belong to the schema");
+        ConfigValues values = new ConfigValues(this);
+        this.walk(root, section, section.getCurrentPath(), checker, values, previous, diff);
+        return values;
+    }
+
+    private void walk(@NotNull final Node node, @Nullable final ConfigurationSection section, @Nullable final String sectionPath, @NotNull final ConfigChecker checker,
+                      @NotNull final ConfigValues values, @Nullable final ConfigValues previous, @Nullable final ConfigDiff diff) {
+        for (Node child : node.children) {
+            if (diff != null && !diff.affects(child.path)) {
+                this.copy(child, previous, values);
+                continue;
+            }
+            Object raw = section == null || (values.isPartial() && !section.isSet(child.key)) ? null : section.get(child.key);
+            if (child.entry != null)
+                child.entry.check(raw, sectionPath, checker, values);
+            if (child.children.length > 0)
+                this.walk(child, raw instanceof ConfigurationSection ? (ConfigurationSection) raw : null, sectionPath, checker, values, previous, diff);
+        }
+    }
+
+    private void copy(@NotNull final Node node, @NotNull final ConfigValues previous, @NotNull final ConfigValues values) {
+        if (node.entry != null)
+            values.copy(previous, node.entry.ordinal);
+        for (Node child : node.children) {
+            this.copy(child, previous, values);
+        }
+    }
+
+    /**
+     * A declared config value.
+     * @param <T> the java type of the value
+     */
+    public static final class Entry<T> {
+
+        private final int ordinal;
+        private final String path;
+        private final ConfigType<T> type;
+        private final ConsoleErrorType errorType;
+        private final T defaultValue;
+        private final Predicate<? super T> constraint;
+        private final String constraintMsg;
+        private final String constraintExpected;
+        private ConfigSchema schema;
+
+        private Entry(final int ordinal, @NotNull final String path, @NotNull final ConfigType<T> type, @NotNull final ConsoleErrorType errorType,
+                      @Nullable final T defaultValue, @Nullable final Predicate<? super T> constraint, @Nullable final String constraintMsg,
+                      @Nullable final String constraintExpected) {
+            this.ordinal = ordinal;
+            this.path = path;
+            this.type = type;
+            this.errorType = errorType;
+            this.defaultValue = defaultValue;
+            this.constraint = constraint;
+            this.constraintMsg = constraintMsg;
+            this.constraintExpected = constraintExpected;
+        }
+
+        private void check(@Nullable final Object raw, @Nullable final String sectionPath, @NotNull final ConfigChecker checker, @NotNull final ConfigValues values) {
+            String msg;
+            String expected = type.getName();
+            if (raw == null) {
+                if (values.isPartial()) {
+                    values.fail(ordinal, null, null);
+                    return;
+                }
+                msg = checker.noPathMsg;
+            } else if (!type.accepts(raw)) {
+                msg = type.getMessage(checker);
+            } else {
+                T value = type.convert(raw);
+                if (constraint == null || constraint.test(value)) {
+                    values.set(ordinal, value);
+                    return;
+                }
+                msg = constraintMsg;
+                expected = constraintExpected;
+            }
+            T fallback = values.isPartial() ? null : defaultValue;
+            values.fail(ordinal, fallback, errorType == ConsoleErrorType.NONE ? null : new ConfigDiagnostic(errorType, sectionPath, path, msg, fallback, expected));
+        }
+
+        /**
+         * Gets the position within the schema.
+         * @return the ordinal
+         */
+        public int getOrdinal() {
+            return ordinal;
+        }
+
+        /**
+         * Gets the path.
+         * @return the path within the validated section
+         */
+        @NotNull
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Gets the type.
+         * @return the type
+         */
+        @NotNull
+        public ConfigType<T> getType() {
+            return type;
+        }
+
+        /**
+         * Gets the ConsoleErrorType.
+         * @return the errorType
+         */
+        @NotNull
+        public ConsoleErrorType getErrorType() {
+            return errorType;
+        }
+
+        /**
+         * Gets the default value.
+         * @return the default value (can be null)
+         */
+        @Nullable
+        public T getDefaultValue() {
+            return defaultValue;
+        }
+
+        /**
+         * Gets the schema this entry belongs to.
+         * @return the schema or null if it is not built yet
+         */
+        @Nullable
+        public ConfigSchema getSchema() {
+            return schema;
+        }
+
+        @Override
+        public String toString() {
+            return path + " (" + type + ")";
+        }
+    }
+
+    /**
+     * Declares the entries of a schema.
+     */
+    public static final class Builder {
+
+        private final List<Entry<?>> entries = new ArrayList<>();
+        private boolean built = false;
+
+        /**
+         * Declares a value.
+         * @param path the path within the validated section
+         * @param type the type
+         * @param errorType the ConsoleErrorType (controls console msg)
+         * @param value the default value (can be null)
+         * @param <T> the java type of the value
+         * @return the entry to get the checked value with
+         * @throws IllegalArgumentException if the path is already declared
+         * @throws IllegalStateException if the schema is already built
+         */
+        @NotNull
+        public <T> Entry<T> add(@NotNull final String path, @NotNull final ConfigType<T> type, @NotNull final ConsoleErrorType errorType, @Nullable final T value)
+                throws IllegalArgumentException, IllegalStateException {
+            return this.add(path, type, errorType, value, null, null);
+        }
+
+        /**
+         * Declares a value within a range.
+         * @param path the path within the validated section
+         * @param type the type
+         * @param errorType the ConsoleErrorType (controls console msg)
+         * @param value the default value (can be null)
+         * @param range range config value or value must be element of
+         * @param <T> the java type of the value
+         * @return the entry to get the checked value with
+         * @throws IllegalArgumentException if the path is already declared or value is not within the given range
+         * @throws IllegalStateException if the schema is already built
+         */
+        @NotNull
+        public <T extends Comparable<?>> Entry<T> add(@NotNull final String path, @NotNull final ConfigType<T> type, @NotNull final ConsoleErrorType errorType,
+                                                      @Nullable final T value, @NotNull final Range<T> range) throws IllegalArgumentException, IllegalStateException {
+            return this.addEntry(path, type, errorType, value, range::contains, ConfigChecker.getRangeMsg(range), range.toString());
+        }
+
+        /**
+         * Declares a value with a custom constraint.
+         * @param path the path within the validated section
+         * @param type the type
+         * @param errorType the ConsoleErrorType (controls console msg)
+         * @param value the default value (can be null)
+         * @param constraint the constraint config value or value must fulfill (null for none)
+         * @param constraintMsg the error msg if the constraint is not fulfilled
+         * @param <T> the java type of the value
+         * @return the entry to get the checked value with
+         * @throws IllegalArgumentException if the path is already declared or value does not fulfill the constraint
+         * @throws IllegalStateException if the schema is already built
+         */
+        @NotNull
+        public <T> Entry<T> add(@NotNull final String path, @NotNull final ConfigType<T> type, @NotNull final ConsoleErrorType errorType, @Nullable final T value,
+                                @Nullable final Predicate<? super T> constraint, @Nullable final String constraintMsg) throws IllegalArgumentException, IllegalStateException {
+            return this.addEntry(path, type, errorType, value, constraint, constraintMsg, null);
+        }
+
+        @NotNull
+        private <T> Entry<T> addEntry(@NotNull final String path, @NotNull final ConfigType<T> type, @NotNull final ConsoleErrorType errorType, @Nullable final T value,
+                                      @Nullable final Predicate<? super T> constraint, @Nullable final String constraintMsg, @Nullable final String constraintExpected)
+                throws IllegalArgumentException, IllegalStateException {
+            if (built)
+                throw new IllegalStateException("schema is already built");
+            for (Entry<?> entry : entries) {
+                if (entry.path.equals(path))
+                    throw new IllegalArgumentException("path " + path + " is already declared");
+            }
+            if (value != null && constraint != null && !constraint.test(value))
+                throw new IllegalArgumentException(constraintMsg);
+
+            Entry<T> entry = new Entry<>(entries.size(), path, type, errorType, value, constraint, constraintMsg, constraintExpected);
+            entries.add(entry);
+            return entry;
+        }
+
+        /**
+         * Declares the value of a key.
+         * @param key the key
+         * @param <T> the java type of the value
+         * @return the entry to get the checked value with
+         * @throws IllegalArgumentException if the path is already declared
+         * @throws IllegalStateException if the schema is already built
+         */
+        @NotNull
+        public <T> Entry<T> add(@NotNull final ConfigKey<T> key) throws IllegalArgumentException, IllegalStateException {
+            return this.addEntry(key.getPath(), key.getType(), key.getErrorType(), key.getDefaultValue(), key.getConstraint(), key.getConstraintMsg(),
+                    key.getConstraintExpected());
+        }
+
+        /**
+         * Compiles the schema. The builder can not be used afterwards.
+         * @return the schema
+         * @throws IllegalStateException if the schema is already built
+         */
+        @NotNull
+        public ConfigSchema build() throws IllegalStateException {
+            if (built)
+                throw new IllegalStateException("schema is already built");
+            built = true;
+
+            MutableNode root = new MutableNode(null);
+            for (Entry<?> entry : entries) {
+                MutableNode node = root;
+                for (String key : entry.path.split("\\.")) {
+                    node = node.children.computeIfAbsent(key, MutableNode::new);
+                }
+                node.entry = entry;
+            }
+
+            ConfigSchema schema = new ConfigSchema(entries, root.compile(null));
+            for (Entry<?> entry : entries) {
+                entry.schema = schema;
+            }
+            return schema;
+        }
+    }
+
+    private static final class MutableNode {
+
+        private final String key;
+        private final Map<String, MutableNode> children = new LinkedHashMap<>();
+        private Entry<?> entry;
+
+        private MutableNode(@Nullable final String key) {
+            this.key = key;
+        }
+
+        @NotNull
+        private Node compile(@Nullable final String parentPath) {
+            String path = key == null ? "" : parentPath == null || parentPath.isEmpty() ? key : parentPath + "." + key;
+            Node[] compiled = new Node[children.size()];
+            int i = 0;
+            for (MutableNode child : children.values()) {
+                compiled[i++] = child.compile(path);
+            }
+            return new Node(key, path, entry, compiled);
+        }
+    }
+
+    private static final class Node {
+
+        private final String key;
+        private final String path;
+        private final Entry<?> entry;
+        private final Node[] children;
+
+        private Node(@Nullable final String key, @NotNull final String path, @Nullable final Entry<?> entry, @NotNull final Node[] children) {
+            this.key = key;
+            this.path = path;
+            this.entry = entry;
+            this.children = children;
+        }
+    }
+}
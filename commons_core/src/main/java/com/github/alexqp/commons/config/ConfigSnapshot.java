@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable copy of a section's contents used to compute a {@link ConfigDiff}.
+ * <p>Sections, lists and maps are copied deeply. Other values are referenced, i. e. must not be modified afterwards.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ConfigSnapshot {
+
+    private static final ConfigSnapshot EMPTY = new ConfigSnapshot(Collections.emptyMap());
+
+    private final Map<String, Object> values;
+
+    private ConfigSnapshot(@NotNull final Map<String, Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * Copies the contents of a section.
+     * @param section the section
+     * @return the snapshot
+     */
+    @NotNull
+    public static ConfigSnapshot of(@NotNull final ConfigurationSection section) {
+        return new ConfigSnapshot(copySection(section));
+    }
+
+    /**
+     * Gets a snapshot without any values.
+     * @return the empty snapshot
+     */
+    @NotNull
+    public static ConfigSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Gets the copied values.
+     * @return the values by key, sections are represented by maps
+     */
+    @NotNull
+    Map<String, Object> getValues() {
+        return values;
+    }
+
+    @NotNull
+    private static Map<String, Object> copySection(@NotNull final ConfigurationSection section) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : section.getValues(false).entrySet()) {
+            map.put(entry.getKey(), copy(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    @Nullable
+    private static Object copy(@Nullable final Object value) {
+        if (value instanceof ConfigurationSection)
+            return new Section(copySection((ConfigurationSection) value));
+        if (value instanceof List) {
+            List<Object> list = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                list.add(copy(element));
+            }
+            return Collections.unmodifiableList(list);
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(entry.getKey(), copy(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(map);
+        }
+        return value;
+    }
+
+    /**
+     * A copied section. This distinguishes sections from map values.
+     */
+    static final class Section {
+
+        private final Map<String, Object> values;
+
+        private Section(@NotNull final Map<String, Object> values) {
+            this.values = values;
+        }
+
+        @NotNull
+        Map<String, Object> getValues() {
+            return values;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Section && values.equals(((Section) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return values.hashCode();
+        }
+    }
+}
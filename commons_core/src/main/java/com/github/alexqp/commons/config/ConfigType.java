@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The type of a config value as checked by {@link ConfigChecker}.
+ * <p>Types accept exactly what the corresponding ConfigChecker method accepts, e. g. {@link ConfigType#DOUBLE} accepts integers as well while {@link ConfigType#FORCE_DOUBLE} does not.
+ * @param <T> the java type of the value
+ * @see ConfigSchema
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ConfigType<T> {
+
+    public static final ConfigType<Boolean> BOOLEAN = new ConfigType<>("boolean", Boolean.class,
+            raw -> raw instanceof Boolean, raw -> (Boolean) raw, checker -> checker.booleanMsg);
+    public static final ConfigType<Integer> INT = new ConfigType<>("int", Integer.class,
+            raw -> raw instanceof Integer, raw -> (Integer) raw, checker -> checker.intMsg);
+    public static final ConfigType<Long> LONG = new ConfigType<>("long", Long.class,
+            raw -> raw instanceof Long || raw instanceof Integer, raw -> ((Number) raw).longValue(), checker -> checker.longMsg);
+    public static final ConfigType<Long> FORCE_LONG = new ConfigType<>("forceLong", Long.class,
+            raw -> raw instanceof Long, raw -> (Long) raw, checker -> checker.forceLongMsg);
+    public static final ConfigType<Double> DOUBLE = new ConfigType<>("double", Double.class,
+            raw -> raw instanceof Double || raw instanceof Integer, raw -> ((Number) raw).doubleValue(), checker -> checker.doubleMsg);
+    public static final ConfigType<Double> FORCE_DOUBLE = new ConfigType<>("forceDouble", Double.class,
+            raw -> raw instanceof Double, raw -> (Double) raw, checker -> checker.forceDoubleMsg);
+    public static final ConfigType<String> STRING = new ConfigType<>("string", String.class,
+            raw -> raw instanceof String, raw -> (String) raw, checker -> checker.stringMsg);
+    public static final ConfigType<Vector> VECTOR = new ConfigType<>("vector", Vector.class,
+            raw -> raw instanceof Vector, raw -> (Vector) raw, checker -> checker.vectorMsg);
+
+    private final String name;
+    private final Class<T> valueClass;
+    private final Predicate<Object> acceptor;
+    private final Function<Object, T> converter;
+    private final Function<ConfigChecker, String> message;
+
+    private ConfigType(@NotNull final String name, @NotNull final Class<T> valueClass, @NotNull final Predicate<Object> acceptor,
+                       @NotNull final Function<Object, T> converter, @NotNull final Function<ConfigChecker, String> message) {
+        this.name = name;
+        this.valueClass = valueClass;
+        this.acceptor = acceptor;
+        this.converter = converter;
+        this.message = message;
+    }
+
+    /**
+     * Creates a type accepting every instance of a class, e. g. ConfigurationSerializables.
+     * @param name the name of the type
+     * @param valueClass the class
+     * @param message the error msg if a value is not an instance of valueClass
+     * @param <T> the java type of the value
+     * @return the type
+     */
+    @NotNull
+    public static <T> ConfigType<T> of(@NotNull final String name, @NotNull final Class<T> valueClass, @NotNull final String message) {
+        return new ConfigType<>(name, valueClass, valueClass::isInstance, valueClass::cast, checker -> message);
+    }
+
+    /**
+     * Gets the name.
+     * @return the name
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the java type of values.
+     * @return the class
+     */
+    @NotNull
+    public Class<T> getValueClass() {
+        return valueClass;
+    }
+
+    /**
+     * Checks if a raw config value is of this type.
+     * @param raw the value as returned by {@link org.bukkit.configuration.ConfigurationSection#get(String)}
+     * @return true if the value is accepted, false otherwise
+     */
+    public boolean accepts(@NotNull final Object raw) {
+        return acceptor.test(raw);
+    }
+
+    /**
+     * Converts an accepted raw config value.
+     * @param raw the value (must be accepted)
+     * @return the converted value
+     * @throws ClassCastException if the value is not accepted
+     */
+    @NotNull
+    public T convert(@NotNull final Object raw) throws ClassCastException {
+        return converter.apply(raw);
+    }
+
+    /**
+     * Gets the error msg for values which are not of this type.
+     * @param checker the checker providing the msg
+     * @return the error msg
+     */
+    @NotNull
+    public String getMessage(@NotNull final ConfigChecker checker) {
+        return message.apply(checker);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of {@link ConfigSchema#validate(ConfigChecker, org.bukkit.configuration.ConfigurationSection)}.
+ * <p>Values and diagnostics are stored by the ordinal of their entry. Invalid values are replaced by the entry's default value (or null if partial).
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ConfigValues {
+
+    private final ConfigSchema schema;
+    private final Object[] values;
+    private final boolean[] valid;
+    private final ConfigDiagnostic[] diagnostics;
+    private final boolean partial;
+    private int diagnosticCount = 0;
+
+    ConfigValues(@NotNull final ConfigSchema schema) {
+        this(schema, false);
+    }
+
+    ConfigValues(@NotNull final ConfigSchema schema, final boolean partial) {
+        this.schema = schema;
+        this.partial = partial;
+        this.values = new Object[schema.size()];
+        this.valid = new boolean[schema.size()];
+        this.diagnostics = new ConfigDiagnostic[schema.size()];
+    }
+
+    void set(final int ordinal, @Nullable final Object value) {
+        values[ordinal] = value;
+        valid[ordinal] = true;
+    }
+
+    void fail(final int ordinal, @Nullable final Object defaultValue, @Nullable final ConfigDiagnostic diagnostic) {
+        values[ordinal] = defaultValue;
+        if (diagnostic != null) {
+            diagnostics[ordinal] = diagnostic;
+            diagnosticCount++;
+        }
+    }
+
+    void copy(@NotNull final ConfigValues previous, final int ordinal) {
+        values[ordinal] = previous.values[ordinal];
+        valid[ordinal] = previous.valid[ordinal];
+        if (previous.diagnostics[ordinal] != null) {
+            diagnostics[ordinal] = previous.diagnostics[ordinal];
+            diagnosticCount++;
+        }
+    }
+
+    /**
+     * Checks if missing values were ignored.
+     * @return true if computed by {@link ConfigSchema#validatePartial(ConfigChecker, org.bukkit.configuration.ConfigurationSection)}, false otherwise
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    /**
+     * Gets the schema.
+     * @return the validated schema
+     */
+    @NotNull
+    public ConfigSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Gets a checked value.
+     * <p>Note: This might be null if config value is not set correctly and the default value is null.
+     * @param entry the entry
+     * @param <T> the java type of the value
+     * @return config value (if set correctly) or the entry's default value
+     * @throws IllegalArgumentException if the entry does not belong to the schema
+     */
+    @Nullable
+    public <T> T get(@NotNull final ConfigSchema.Entry<T> entry) throws IllegalArgumentException {
+        this.checkEntry(entry);
+        return entry.getType().getValueClass().cast(values[entry.getOrdinal()]);
+    }
+
+    /**
+     * Checks if a value is set correctly.
+     * @param entry the entry
+     * @return true if config value is set correctly, false otherwise
+     * @throws IllegalArgumentException if the entry does not belong to the schema
+     */
+    public boolean isValid(@NotNull final ConfigSchema.Entry<?> entry) throws IllegalArgumentException {
+        this.checkEntry(entry);
+        return valid[entry.getOrdinal()];
+    }
+
+    /**
+     * Checks if all values are set correctly.
+     * @return true if every value is set correctly, false otherwise
+     */
+    public boolean isAllValid() {
+        for (boolean entryValid : valid) {
+            if (!entryValid)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the diagnostic of an entry.
+     * @param entry the entry
+     * @return the diagnostic or null if the value is set correctly or the entry's errorType is NONE
+     * @throws IllegalArgumentException if the entry does not belong to the schema
+     */
+    @Nullable
+    public ConfigDiagnostic getDiagnostic(@NotNull final ConfigSchema.Entry<?> entry) throws IllegalArgumentException {
+        this.checkEntry(entry);
+        return diagnostics[entry.getOrdinal()];
+    }
+
+    /**
+     * Gets all diagnostics.
+     * @return the diagnostics in declaration order of their entries
+     */
+    @NotNull
+    public List<ConfigDiagnostic> getDiagnostics() {
+        List<ConfigDiagnostic> list = new ArrayList<>(diagnosticCount);
+        for (ConfigDiagnostic diagnostic : diagnostics) {
+            if (diagnostic != null)
+                list.add(diagnostic);
+        }
+        return list;
+    }
+
+    /**
+     * Sends all diagnostics as console msgs.
+     * @param checker the checker
+     * @see ConfigDiagnostic#send(ConfigChecker)
+     */
+    public void sendDiagnostics(@NotNull final ConfigChecker checker) {
+        for (ConfigDiagnostic diagnostic : diagnostics) {
+            if (diagnostic != null)
+                diagnostic.send(checker);
+        }
+    }
+
+    private void checkEntry(@NotNull final ConfigSchema.Entry<?> entry) throws IllegalArgumentException {
+        if (entry.getSchema() != schema)
+            throw new IllegalArgumentException("entry " + entry + " does not belong to the schema");
+    }
+}
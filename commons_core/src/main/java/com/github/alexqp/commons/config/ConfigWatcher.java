@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Diffs a section against its previous contents on every reload and notifies listeners of changed paths only.
+ * <p>Subsystems register a listener for the path (or subtree) they depend on and rebuild only if it changed. The first reload affects every path.
+ * <p>Note: Watchers are not thread-safe.
+ * @see ConfigDiff#affects(String)
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ConfigWatcher {
+
+    private final List<Registration> registrations = new ArrayList<>();
+    private ConfigSnapshot snapshot = null;
+
+    /**
+     * Registers a listener.
+     * @param path the path (or subtree) the listener depends on, the empty path for every change
+     * @param listener the listener
+     */
+    public void addListener(@NotNull final String path, @NotNull final ConfigChangeListener listener) {
+        registrations.add(new Registration(path, listener));
+    }
+
+    /**
+     * Unregisters a listener from all paths.
+     * @param listener the listener
+     * @return true if the listener was registered, false otherwise
+     */
+    public boolean removeListener(@NotNull final ConfigChangeListener listener) {
+        return registrations.removeIf(registration -> registration.listener == listener);
+    }
+
+    /**
+     * Diffs a section against the previous reload and notifies all affected listeners in order of registration.
+     * <p>This also invalidates the cached sections of all {@link ConfigKey}s resolved against the section.
+     * @param section the reloaded section
+     * @return the changes since the previous reload
+     */
+    @NotNull
+    public ConfigDiff reload(@NotNull final ConfigurationSection section) {
+        ConfigSnapshot current = ConfigSnapshot.of(section);
+        boolean first = snapshot == null;
+        ConfigDiff diff = ConfigDiff.between(first ? ConfigSnapshot.empty() : snapshot, current);
+        snapshot = current;
+        ConfigKey.invalidate(section);
+
+        for (Registration registration : new ArrayList<>(registrations)) {
+            if (first || diff.affects(registration.path))
+                registration.listener.onChange(section, diff);
+        }
+        return diff;
+    }
+
+    /**
+     * Forgets the previous contents, i. e. the next reload affects every path.
+     */
+    public void reset() {
+        snapshot = null;
+    }
+
+    private static final class Registration {
+
+        private final String path;
+        private final ConfigChangeListener listener;
+
+        private Registration(@NotNull final String path, @NotNull final ConfigChangeListener listener) {
+            this.path = path;
+            this.listener = listener;
+        }
+    }
+}
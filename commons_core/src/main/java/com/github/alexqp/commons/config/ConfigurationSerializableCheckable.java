@@ -24,6 +24,7 @@ import org.bukkit.configuration.serialization.ConfigurationSerializable;
  * This interface is used in {@link ConfigChecker}.
  * @see ConfigChecker#checkSerializable(ConfigurationSection, String, ConsoleErrorType, ConfigurationSerializableCheckable, boolean)
  * @see ConfigChecker#checkSerializable(ConfigurationSection, String, ConsoleErrorType, Class, boolean)
+ * @see ConfigChecker#checkSerializables(ConfigurationSection, ConsoleErrorType, Class, boolean)
  */
 
 public interface ConfigurationSerializableCheckable extends ConfigurationSerializable {
@@ -34,9 +35,20 @@ public interface ConfigurationSerializableCheckable extends ConfigurationSeriali
      * @param section the section
      * @param path the path within the section (i. e. the name)
      * @param errorType the ConsoleErrorType (controls console messages)
-     * @param overwrite should values get overwritten?
+     * @param overwrite should values get overwritten? Prefer {@link ConfigChecker#writeBack(ConfigurationSection, String, Object)} over setting values directly, so they are saved once.
      * @return true if all values are set correctly, false otherwise. This has no impact on ConfigChecker if overwrite is false (i. e. no extra msg)
      */
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     boolean checkValues(ConfigChecker checker, ConfigurationSection section, String path, ConsoleErrorType errorType, boolean overwrite);
+
+    /**
+     * Gets whether this instance may be checked in parallel to other instances.
+     * <p>If true, {@link ConfigurationSerializableCheckable#checkValues(ConfigChecker, ConfigurationSection, String, ConsoleErrorType, boolean)} must not access shared mutable state
+     * and must only modify its own entry of the section. Return false to be checked sequentially instead.
+     * @return true if parallel checks are allowed, false otherwise
+     * @see ConfigChecker#checkSerializables(ConfigurationSection, ConsoleErrorType, Class, boolean, java.util.concurrent.ForkJoinPool)
+     */
+    default boolean isParallelCheckable() {
+        return true;
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A closed range of double values which does not box values to test them.
+ * <p>Bounds of Double.NEGATIVE_INFINITY and Double.POSITIVE_INFINITY are treated as unbounded, i. e. are printed as infinity.
+ * @see ConfigChecker#checkDouble(org.bukkit.configuration.ConfigurationSection, String, ConsoleErrorType, double, DoubleRange, boolean)
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class DoubleRange {
+
+    private static final DoubleRange ALL = new DoubleRange(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    private final double min;
+    private final double max;
+
+    private DoubleRange(final double min, final double max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Creates a range containing all values between min and max (both inclusive).
+     * @param min the lower bound
+     * @param max the upper bound
+     * @return the range
+     * @throws IllegalArgumentException if min is greater than max
+     */
+    @NotNull
+    public static DoubleRange closed(final double min, final double max) throws IllegalArgumentException {
+        if (!(min <= max))
+            throw new IllegalArgumentException("invalid range: " + min + " > " + max);
+        return new DoubleRange(min, max);
+    }
+
+    /**
+     * Creates a range containing all values greater than or equal to min.
+     * @param min the lower bound
+     * @return the range
+     */
+    @NotNull
+    public static DoubleRange atLeast(final double min) {
+        return closed(min, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Creates a range containing all values less than or equal to max.
+     * @param max the upper bound
+     * @return the range
+     */
+    @NotNull
+    public static DoubleRange atMost(final double max) {
+        return closed(Double.NEGATIVE_INFINITY, max);
+    }
+
+    /**
+     * Gets the range containing all values.
+     * @return the range
+     */
+    @NotNull
+    public static DoubleRange all() {
+        return ALL;
+    }
+
+    /**
+     * Gets the lower bound.
+     * @return the lower bound (inclusive)
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the upper bound.
+     * @return the upper bound (inclusive)
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Checks if a value is element of this range.
+     * @param value the value
+     * @return true if min &lt;= value &lt;= max, false otherwise
+     */
+    public boolean contains(final double value) {
+        return min <= value && value <= max;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof DoubleRange))
+            return false;
+        DoubleRange other = (DoubleRange) o;
+        return Double.compare(min, other.min) == 0 && Double.compare(max, other.max) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(min) + Double.hashCode(max);
+    }
+
+    /**
+     * Returns the range in the same notation as Guava's Range, e. g. [1..10] or [0..+\u221e).
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return (min == Double.NEGATIVE_INFINITY ? "(-\u221e" : "[" + min) + ".." + (max == Double.POSITIVE_INFINITY ? "+\u221e)" : max + "]");
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A closed range of int values which does not box values to test them.
+ * <p>Ranges created by {@link IntRange#atLeast(int)}, {@link IntRange#atMost(int)} and {@link IntRange#all()} are unbounded on the missing side, i. e. are printed as infinity.
+ * Bounds passed to {@link IntRange#closed(int, int)} are always printed as number, even if they are Integer.MIN_VALUE or Integer.MAX_VALUE.
+ * @see ConfigChecker#checkInt(org.bukkit.configuration.ConfigurationSection, String, ConsoleErrorType, int, IntRange)
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class IntRange {
+
+    private static final IntRange ALL = new IntRange(Integer.MIN_VALUE, Integer.MAX_VALUE, false, false);
+
+    private final int min;
+    private final int max;
+    private final boolean lowerBounded;
+    private final boolean upperBounded;
+
+    private IntRange(final int min, final int max, final boolean lowerBounded, final boolean upperBounded) {
+        this.min = min;
+        this.max = max;
+        this.lowerBounded = lowerBounded;
+        this.upperBounded = upperBounded;
+    }
+
+    /**
+     * Creates a range containing all values between min and max (both inclusive).
+     * @param min the lower bound
+     * @param max the upper bound
+     * @return the range
+     * @throws IllegalArgumentException if min is greater than max
+     */
+    @NotNull
+    public static IntRange closed(final int min, final int max) throws IllegalArgumentException {
+        if (!(min <= max))
+            throw new IllegalArgumentException("invalid range: " + min + " > " + max);
+        return new IntRange(min, max, true, true);
+    }
+
+    /**
+     * Creates a range containing all values greater than or equal to min.
+     * @param min the lower bound
+     * @return the range
+     */
+    @NotNull
+    public static IntRange atLeast(final int min) {
+        return new IntRange(min, Integer.MAX_VALUE, true, false);
+    }
+
+    /**
+     * Creates a range containing all values less than or equal to max.
+     * @param max the upper bound
+     * @return the range
+     */
+    @NotNull
+    public static IntRange atMost(final int max) {
+        return new IntRange(Integer.MIN_VALUE, max, false, true);
+    }
+
+    /**
+     * Gets the range containing all values.
+     * @return the range
+     */
+    @NotNull
+    public static IntRange all() {
+        return ALL;
+    }
+
+    /**
+     * Gets the lower bound.
+     * @return the lower bound (inclusive)
+     */
+    public int getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the upper bound.
+     * @return the upper bound (inclusive)
+     */
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * Checks if this range has a lower bound.
+     * @return false if the range was created without lower bound, true otherwise
+     */
+    public boolean hasLowerBound() {
+        return lowerBounded;
+    }
+
+    /**
+     * Checks if this range has an upper bound.
+     * @return false if the range was created without upper bound, true otherwise
+     */
+    public boolean hasUpperBound() {
+        return upperBounded;
+    }
+
+    /**
+     * Checks if a value is element of this range.
+     * @param value the value
+     * @return true if min &lt;= value &lt;= max, false otherwise
+     */
+    public boolean contains(final int value) {
+        return min <= value && value <= max;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof IntRange))
+            return false;
+        IntRange other = (IntRange) o;
+        return Integer.compare(min, other.min) == 0 && Integer.compare(max, other.max) == 0 && lowerBounded == other.lowerBounded && upperBounded == other.upperBounded;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * Integer.hashCode(min) + Integer.hashCode(max)) + Boolean.hashCode(lowerBounded)) + Boolean.hashCode(upperBounded);
+    }
+
+    /**
+     * Returns the range in the same notation as Guava's Range, e. g. [1..10] or [0..+\u221e).
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return (lowerBounded ? "[" + min : "(-\u221e") + ".." + (upperBounded ? max + "]" : "+\u221e)");
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.config;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A closed range of long values which does not box values to test them.
+ * <p>Ranges created by {@link LongRange#atLeast(long)}, {@link LongRange#atMost(long)} and {@link LongRange#all()} are unbounded on the missing side, i. e. are printed as infinity.
+ * Bounds passed to {@link LongRange#closed(long, long)} are always printed as number, even if they are Long.MIN_VALUE or Long.MAX_VALUE.
+ * @see ConfigChecker#checkLong(org.bukkit.configuration.ConfigurationSection, String, ConsoleErrorType, long, LongRange, boolean)
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class LongRange {
+
+    private static final LongRange ALL = new LongRange(Long.MIN_VALUE, Long.MAX_VALUE, false, false);
+
+    private final long min;
+    private final long max;
+    private final boolean lowerBounded;
+    private final boolean upperBounded;
+
+    private LongRange(final long min, final long max, final boolean lowerBounded, final boolean upperBounded) {
+        this.min = min;
+        this.max = max;
+        this.lowerBounded = lowerBounded;
+        this.upperBounded = upperBounded;
+    }
+
+    /**
+     * Creates a range containing all values between min and max (both inclusive).
+     * @param min the lower bound
+     * @param max the upper bound
+     * @return the range
+     * @throws IllegalArgumentException if min is greater than max
+     */
+    @NotNull
+    public static LongRange closed(final long min, final long max) throws IllegalArgumentException {
+        if (!(min <= max))
+            throw new IllegalArgumentException("invalid range: " + min + " > " + max);
+        return new LongRange(min, max, true, true);
+    }
+
+    /**
+     * Creates a range containing all values greater than or equal to min.
+     * @param min the lower bound
+     * @return the range
+     */
+    @NotNull
+    public static LongRange atLeast(final long min) {
+        return new LongRange(min, Long.MAX_VALUE, true, false);
+    }
+
+    /**
+     * Creates a range containing all values less than or equal to max.
+     * @param max the upper bound
+     * @return the range
+     */
+    @NotNull
+    public static LongRange atMost(final long max) {
+        return new LongRange(Long.MIN_VALUE, max, false, true);
+    }
+
+    /**
+     * Gets the range containing all values.
+     * @return the range
+     */
+    @NotNull
+    public static LongRange all() {
+        return ALL;
+    }
+
+    /**
+     * Gets the lower bound.
+     * @return the lower bound (inclusive)
+     */
+    public long getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the upper bound.
+     * @return the upper bound (inclusive)
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Checks if this range has a lower bound.
+     * @return false if the range was created without lower bound, true otherwise
+     */
+    public boolean hasLowerBound() {
+        return lowerBounded;
+    }
+
+    /**
+     * Checks if this range has an upper bound.
+     * @return false if the range was created without upper bound, true otherwise
+     */
+    public boolean hasUpperBound() {
+        return upperBounded;
+    }
+
+    /**
+     * Checks if a value is element of this range.
+     * @param value the value
+     * @return true if min &lt;= value &lt;= max, false otherwise
+     */
+    public boolean contains(final long value) {
+        return min <= value && value <= max;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof LongRange))
+            return false;
+        LongRange other = (LongRange) o;
+        return Long.compare(min, other.min) == 0 && Long.compare(max, other.max) == 0 && lowerBounded == other.lowerBounded && upperBounded == other.upperBounded;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * Long.hashCode(min) + Long.hashCode(max)) + Boolean.hashCode(lowerBounded)) + Boolean.hashCode(upperBounded);
+    }
+
+    /**
+     * Returns the range in the same notation as Guava's Range, e. g. [1..10] or [0..+\u221e).
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return (lowerBounded ? "[" + min : "(-\u221e") + ".." + (upperBounded ? max + "]" : "+\u221e)");
+    }
+}
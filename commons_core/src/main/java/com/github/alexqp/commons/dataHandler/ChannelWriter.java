@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.dataHandler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Checksum;
+
+/**
+ * A buffered UTF-8 writer on top of a FileChannel which optionally feeds every written byte into a checksum.
+ * <p>Encoder and buffers are kept per thread and reused by every write, see {@link ChannelWriter#open(FileChannel, Checksum)}.
+ */
+final class ChannelWriter extends Writer {
+
+    private static final int CHAR_BUFFER_SIZE = 8 * 1024;
+    private static final int BYTE_BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<ChannelWriter> WRITERS = ThreadLocal.withInitial(ChannelWriter::new);
+
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BYTE_BUFFER_SIZE);
+
+    private @Nullable FileChannel channel;
+    private @Nullable Checksum checksum;
+    private long written;
+
+    private ChannelWriter() {}
+
+    /**
+     * Gets a writer for a channel. Writing starts at the channel's current position.
+     * <p>The writer must be closed, which flushes all data but does not close the channel.
+     * @param channel the channel
+     * @param checksum the checksum to update or null
+     * @return the writer of the current thread or a new one if it is in use
+     */
+    @NotNull
+    static ChannelWriter open(@NotNull final FileChannel channel, @Nullable final Checksum checksum) {
+        ChannelWriter writer = WRITERS.get();
+        if (writer.channel != null)
+            writer = new ChannelWriter();
+
+        writer.channel = channel;
+        writer.checksum = checksum;
+        writer.written = 0;
+        writer.encoder.reset();
+        writer.chars.clear();
+        writer.bytes.clear();
+        return writer;
+    }
+
+    /**
+     * Gets the amount of bytes written to the channel so far.
+     * @return the amount of bytes
+     */
+    long getWritten() {
+        return written;
+    }
+
+    @Override
+    public void write(@NotNull final char[] cbuf, int off, int len) throws IOException {
+        this.ensureOpen();
+        while (len > 0) {
+            int n = Math.min(len, chars.remaining());
+            chars.put(cbuf, off, n);
+            off += n;
+            len -= n;
+            if (!chars.hasRemaining())
+                this.encode(false);
+        }
+    }
+
+    @Override
+    public void write(@NotNull final String str, int off, int len) throws IOException {
+        this.ensureOpen();
+        while (len > 0) {
+            int n = Math.min(len, chars.remaining());
+            chars.put(str, off, off + n);
+            off += n;
+            len -= n;
+            if (!chars.hasRemaining())
+                this.encode(false);
+        }
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        this.ensureOpen();
+        chars.put((char) c);
+        if (!chars.hasRemaining())
+            this.encode(false);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.ensureOpen();
+        this.encode(false);
+        this.drain();
+    }
+
+    /**
+     * Writes all remaining data and releases the writer. The channel stays open.
+     * @throws IOException if the data could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel == null)
+            return;
+
+        try {
+            this.encode(true);
+            while (encoder.flush(bytes).isOverflow()) {
+                this.drain();
+            }
+            this.drain();
+        } finally {
+            channel = null;
+            checksum = null;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (channel == null)
+            throw new IOException("writer is closed");
+    }
+
+    private void encode(final boolean endOfInput) throws IOException {
+        chars.flip();
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isOverflow()) {
+                this.drain();
+            } else {
+                if (result.isError())
+                    result.throwException();
+                break;
+            }
+        }
+        chars.compact();
+    }
+
+    private void drain() throws IOException {
+        assert channel != null;
+        bytes.flip();
+        if (checksum != null) {
+            int position = bytes.position();
+            checksum.update(bytes);
+            bytes.position(position);
+        }
+        while (bytes.hasRemaining()) {
+            written += channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.dataHandler;
+
+/**
+ * Thrown to indicate that the stored checksum of a file does not match its content.
+ */
+@SuppressWarnings("WeakerAccess")
+public class ChecksumMismatchException extends LoadSaveException {
+
+    /**
+     * Constructs a ChecksumMismatchException with the specified message.
+     * @param msg the message
+     */
+    public ChecksumMismatchException(String msg) {
+        super(msg);
+    }
+
+}
@@ -0,0 +1,641 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.dataHandler;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact, read-only copy of a loaded data tree.
+ * <p>Keys are interned and stored in plain arrays (with a small hash table for larger sections only), int, long, double and boolean leaves are packed into a long array without boxing and no section stores its full path.
+ * Getters behave like the ones of {@link ConfigurationSection}, paths are resolved without creating any substrings.
+ * @see DataHandler#loadCompactYmlFile(String)
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class CompactSection {
+
+    private static final char SEPARATOR = '.';
+    private static final int LINEAR_SCAN_LIMIT = 8;
+
+    private static final byte TYPE_OBJECT = 0;
+    private static final byte TYPE_INT = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_DOUBLE = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_SECTION = 5;
+
+    // rough HotSpot sizes with compressed oops
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private final @Nullable CompactSection parent;
+    private final @NotNull String name;
+    private final String[] keys;
+    private final byte[] types;
+    private final @Nullable long[] primitives;
+    private final @Nullable Object[] objects;
+    private final @Nullable int[] table;
+
+    private CompactSection(@Nullable final CompactSection parent, @NotNull final String name, @NotNull final ConfigurationSection section) {
+        this.parent = parent;
+        this.name = name.intern();
+
+        Set<String> keySet = section.getKeys(false);
+        int size = keySet.size();
+        this.keys = new String[size];
+        this.types = new byte[size];
+
+        long[] primitives = null;
+        Object[] objects = null;
+        int i = 0;
+        for (String key : keySet) {
+            keys[i] = key.intern();
+            Object value = section.get(key);
+            byte type = typeOf(value);
+            types[i] = type;
+
+            if (type == TYPE_OBJECT || type == TYPE_SECTION) {
+                if (objects == null)
+                    objects = new Object[size];
+                objects[i] = type == TYPE_SECTION ? new CompactSection(this, keys[i], (ConfigurationSection) value) : copy(value);
+            } else {
+                if (primitives == null)
+                    primitives = new long[size];
+                primitives[i] = pack(type, value);
+            }
+            i++;
+        }
+        this.primitives = primitives;
+        this.objects = objects;
+        this.table = size > LINEAR_SCAN_LIMIT ? this.buildTable() : null;
+    }
+
+    /**
+     * Creates a compact copy of a section (deep).
+     * <p>Default values of the section are not copied.
+     * @param section the section
+     * @return the compact copy
+     */
+    @NotNull
+    public static CompactSection of(@NotNull final ConfigurationSection section) {
+        return new CompactSection(null, section.getName(), section);
+    }
+
+    private static byte typeOf(@Nullable final Object value) {
+        if (value instanceof Integer)
+            return TYPE_INT;
+        if (value instanceof Long)
+            return TYPE_LONG;
+        if (value instanceof Double)
+            return TYPE_DOUBLE;
+        if (value instanceof Boolean)
+            return TYPE_BOOLEAN;
+        if (value instanceof ConfigurationSection)
+            return TYPE_SECTION;
+        return TYPE_OBJECT;
+    }
+
+    private static long pack(final byte type, @NotNull final Object value) {
+        switch (type) {
+            case TYPE_INT:
+            case TYPE_LONG:
+                return ((Number) value).longValue();
+            case TYPE_DOUBLE:
+                return Double.doubleToRawLongBits((Double) value);
+            default:
+                return (Boolean) value ? 1 : 0;
+        }
+    }
+
+    @Nullable
+    private static Object copy(@Nullable final Object value) {
+        if (value instanceof List)
+            return Collections.unmodifiableList(new ArrayList<>((List<?>) value));
+        return value;
+    }
+
+    private int[] buildTable() {
+        int[] table = new int[Integer.highestOneBit(keys.length * 2 - 1) << 1];
+        int mask = table.length - 1;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = mix(keys[i].hashCode()) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+        return table;
+    }
+
+    private static int mix(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    // =================================================================
+    // PATH RESOLUTION
+    // =================================================================
+
+    private int indexOf(@NotNull final String path, final int start, final int end) {
+        int length = end - start;
+        if (table == null) {
+            for (int i = 0; i < keys.length; i++) {
+                String key = keys[i];
+                if (key.length() == length && path.regionMatches(start, key, 0, length))
+                    return i;
+            }
+            return -1;
+        }
+
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + path.charAt(i);
+        }
+        int mask = table.length - 1;
+        for (int slot = mix(hash) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            String key = keys[table[slot] - 1];
+            if (key.length() == length && path.regionMatches(start, key, 0, length))
+                return table[slot] - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Resolves the section which holds the last path segment.
+     * @return the section or null if not existent
+     */
+    @Nullable
+    private CompactSection resolveParent(@NotNull final String path) {
+        CompactSection section = this;
+        int start = 0;
+        int end;
+        while ((end = path.indexOf(SEPARATOR, start)) != -1) {
+            int index = section.indexOf(path, start, end);
+            if (index < 0 || section.types[index] != TYPE_SECTION)
+                return null;
+            section = (CompactSection) section.objects[index];
+            start = end + 1;
+        }
+        return section;
+    }
+
+    private static int lastSegmentStart(@NotNull final String path) {
+        return path.lastIndexOf(SEPARATOR) + 1;
+    }
+
+    private byte typeAt(@NotNull final String path) {
+        CompactSection section = this.resolveParent(path);
+        if (section == null)
+            return -1;
+        int index = section.indexOf(path, lastSegmentStart(path), path.length());
+        return index < 0 ? -1 : section.types[index];
+    }
+
+    // =================================================================
+    // GETTERS
+    // =================================================================
+
+    /**
+     * Gets the name of this section.
+     * @return the name (empty for the root)
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the path of this section from its root (computed on every call).
+     * @return the path (empty for the root)
+     */
+    @NotNull
+    public String getCurrentPath() {
+        if (parent == null)
+            return "";
+        String parentPath = parent.getCurrentPath();
+        return parentPath.isEmpty() ? name : parentPath + SEPARATOR + name;
+    }
+
+    /**
+     * Gets the parent section.
+     * @return the parent or null for the root
+     */
+    @Nullable
+    public CompactSection getParent() {
+        return parent;
+    }
+
+    /**
+     * Gets the keys of this section.
+     * @param deep should keys of child sections be included (as full paths)?
+     * @return an ordered set of keys
+     */
+    @NotNull
+    public Set<String> getKeys(final boolean deep) {
+        Set<String> result = new LinkedHashSet<>();
+        this.collectKeys(result, "", deep);
+        return result;
+    }
+
+    private void collectKeys(@NotNull final Set<String> result, @NotNull final String prefix, final boolean deep) {
+        for (int i = 0; i < keys.length; i++) {
+            String key = prefix.isEmpty() ? keys[i] : prefix + SEPARATOR + keys[i];
+            result.add(key);
+            if (deep && types[i] == TYPE_SECTION)
+                ((CompactSection) objects[i]).collectKeys(result, key, true);
+        }
+    }
+
+    /**
+     * Gets the amount of direct keys.
+     * @return the amount of keys
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Checks if a path exists.
+     * @param path the path
+     * @return true if the path exists, false otherwise
+     */
+    public boolean contains(@NotNull final String path) {
+        return this.typeAt(path) >= 0;
+    }
+
+    /**
+     * Gets a value (boxing primitives).
+     * @param path the path
+     * @return the value or null if not existent
+     */
+    @Nullable
+    public Object get(@NotNull final String path) {
+        CompactSection section = this.resolveParent(path);
+        if (section == null)
+            return null;
+        int index = section.indexOf(path, lastSegmentStart(path), path.length());
+        if (index < 0)
+            return null;
+
+        switch (section.types[index]) {
+            case TYPE_INT:
+                return (int) section.primitives[index];
+            case TYPE_LONG:
+                return section.primitives[index];
+            case TYPE_DOUBLE:
+                return Double.longBitsToDouble(section.primitives[index]);
+            case TYPE_BOOLEAN:
+                return section.primitives[index] != 0;
+            default:
+                return section.objects[index];
+        }
+    }
+
+    /**
+     * Gets a child section.
+     * @param path the path
+     * @return the section or null if not existent or not a section
+     */
+    @Nullable
+    public CompactSection getConfigurationSection(@NotNull final String path) {
+        Object value = this.get(path);
+        return value instanceof CompactSection ? (CompactSection) value : null;
+    }
+
+    /**
+     * Checks if a path holds a section.
+     * @param path the path
+     * @return true if the path holds a section, false otherwise
+     */
+    public boolean isConfigurationSection(@NotNull final String path) {
+        return this.typeAt(path) == TYPE_SECTION;
+    }
+
+    /**
+     * Checks if a path holds an int.
+     * @param path the path
+     * @return true if the path holds an int, false otherwise
+     */
+    public boolean isInt(@NotNull final String path) {
+        return this.typeAt(path) == TYPE_INT;
+    }
+
+    /**
+     * Checks if a path holds a long.
+     * @param path the path
+     * @return true if the path holds a long, false otherwise
+     */
+    public boolean isLong(@NotNull final String path) {
+        return this.typeAt(path) == TYPE_LONG;
+    }
+
+    /**
+     * Checks if a path holds a double.
+     * @param path the path
+     * @return true if the path holds a double, false otherwise
+     */
+    public boolean isDouble(@NotNull final String path) {
+        return this.typeAt(path) == TYPE_DOUBLE;
+    }
+
+    /**
+     * Checks if a path holds a boolean.
+     * @param path the path
+     * @return true if the path holds a boolean, false otherwise
+     */
+    public boolean isBoolean(@NotNull final String path) {
+        return this.typeAt(path) == TYPE_BOOLEAN;
+    }
+
+    /**
+     * Checks if a path holds a string.
+     * @param path the path
+     * @return true if the path holds a string, false otherwise
+     */
+    public boolean isString(@NotNull final String path) {
+        return this.get(path) instanceof String;
+    }
+
+    /**
+     * Checks if a path holds a list.
+     * @param path the path
+     * @return true if the path holds a list, false otherwise
+     */
+    public boolean isList(@NotNull final String path) {
+        return this.get(path) instanceof List;
+    }
+
+    /**
+     * Gets an int, converting other numbers like {@link ConfigurationSection#getInt(String, int)}.
+     * @param path the path
+     * @param def the default value
+     * @return the value or def if not existent or not a number
+     */
+    public int getInt(@NotNull final String path, final int def) {
+        CompactSection section = this.resolveParent(path);
+        if (section == null)
+            return def;
+        int index = section.indexOf(path, lastSegmentStart(path), path.length());
+        if (index < 0)
+            return def;
+
+        switch (section.types[index]) {
+            case TYPE_INT:
+            case TYPE_LONG:
+                return (int) section.primitives[index];
+            case TYPE_DOUBLE:
+                return (int) Double.longBitsToDouble(section.primitives[index]);
+            case TYPE_OBJECT:
+                Object value = section.objects[index];
+                return value instanceof Number ? ((Number) value).intValue() : def;
+            default:
+                return def;
+        }
+    }
+
+    /**
+     * Gets an int.
+     * @see CompactSection#getInt(String, int)
+     */
+    public int getInt(@NotNull final String path) {
+        return this.getInt(path, 0);
+    }
+
+    /**
+     * Gets a long, converting other numbers like {@link ConfigurationSection#getLong(String, long)}.
+     * @param path the path
+     * @param def the default value
+     * @return the value or def if not existent or not a number
+     */
+    public long getLong(@NotNull final String path, final long def) {
+        CompactSection section = this.resolveParent(path);
+        if (section == null)
+            return def;
+        int index = section.indexOf(path, lastSegmentStart(path), path.length());
+        if (index < 0)
+            return def;
+
+        switch (section.types[index]) {
+            case TYPE_INT:
+            case TYPE_LONG:
+                return section.primitives[index];
+            case TYPE_DOUBLE:
+                return (long) Double.longBitsToDouble(section.primitives[index]);
+            case TYPE_OBJECT:
+                Object value = section.objects[index];
+                return value instanceof Number ? ((Number) value).longValue() : def;
+            default:
+                return def;
+        }
+    }
+
+    /**
+     * Gets a long.
+     * @see CompactSection#getLong(String, long)
+     */
+    public long getLong(@NotNull final String path) {
+        return this.getLong(path, 0);
+    }
+
+    /**
+     * Gets a double, converting other numbers like {@link ConfigurationSection#getDouble(String, double)}.
+     * @param path the path
+     * @param def the default value
+     * @return the value or def if not existent or not a number
+     */
+    public double getDouble(@NotNull final String path, final double def) {
+        CompactSection section = this.resolveParent(path);
+        if (section == null)
+            return def;
+        int index = section.indexOf(path, lastSegmentStart(path), path.length());
+        if (index < 0)
+            return def;
+
+        switch (section.types[index]) {
+            case TYPE_INT:
+            case TYPE_LONG:
+                return section.primitives[index];
+            case TYPE_DOUBLE:
+                return Double.longBitsToDouble(section.primitives[index]);
+            case TYPE_OBJECT:
+                Object value = section.objects[index];
+                return value instanceof Number ? ((Number) value).doubleValue() : def;
+            default:
+                return def;
+        }
+    }
+
+    /**
+     * Gets a double.
+     * @see CompactSection#getDouble(String, double)
+     */
+    public double getDouble(@NotNull final String path) {
+        return this.getDouble(path, 0);
+    }
+
+    /**
+     * Gets a boolean.
+     * @param path the path
+     * @param def the default value
+     * @return the value or def if not existent or not a boolean
+     */
+    public boolean getBoolean(@NotNull final String path, final boolean def) {
+        CompactSection section = this.resolveParent(path);
+        if (section == null)
+            return def;
+        int index = section.indexOf(path, lastSegmentStart(path), path.length());
+        if (index < 0 || section.types[index] != TYPE_BOOLEAN)
+            return def;
+        return section.primitives[index] != 0;
+    }
+
+    /**
+     * Gets a boolean.
+     * @see CompactSection#getBoolean(String, boolean)
+     */
+    public boolean getBoolean(@NotNull final String path) {
+        return this.getBoolean(path, false);
+    }
+
+    /**
+     * Gets a string. Like {@link ConfigurationSection#getString(String, String)} this converts primitive values to strings.
+     * @param path the path
+     * @param def the default value
+     * @return the value or def if not existent or a section
+     */
+    @Nullable
+    public String getString(@NotNull final String path, @Nullable final String def) {
+        Object value = this.get(path);
+        return value != null && !(value instanceof CompactSection) ? value.toString() : def;
+    }
+
+    /**
+     * Gets a string.
+     * @see CompactSection#getString(String, String)
+     */
+    @Nullable
+    public String getString(@NotNull final String path) {
+        return this.getString(path, null);
+    }
+
+    /**
+     * Gets a list.
+     * @param path the path
+     * @return the unmodifiable list or null if not existent or not a list
+     */
+    @Nullable
+    public List<?> getList(@NotNull final String path) {
+        Object value = this.get(path);
+        return value instanceof List ? (List<?>) value : null;
+    }
+
+    /**
+     * Gets a list of strings, converting primitive elements like {@link ConfigurationSection#getStringList(String)}.
+     * @param path the path
+     * @return the list (empty if not existent)
+     */
+    @NotNull
+    public List<String> getStringList(@NotNull final String path) {
+        List<?> list = this.getList(path);
+        if (list == null)
+            return new ArrayList<>(0);
+
+        List<String> result = new ArrayList<>(list.size());
+        for (Object element : list) {
+            if (element instanceof String || element instanceof Number || element instanceof Boolean || element instanceof Character)
+                result.add(element.toString());
+        }
+        return result;
+    }
+
+    /**
+     * Gets a value of a specific type.
+     * @param path the path
+     * @param clazz the class of the value
+     * @param <T> the type
+     * @return the value or null if not existent or not of the given type
+     */
+    @Nullable
+    public <T> T getObject(@NotNull final String path, @NotNull final Class<T> clazz) {
+        Object value = this.get(path);
+        return clazz.isInstance(value) ? clazz.cast(value) : null;
+    }
+
+    // =================================================================
+    // SIZE ESTIMATION
+    // =================================================================
+
+    /**
+     * Estimates the retained heap size of this tree in bytes.
+     * <p>The estimation assumes a 64 bit HotSpot JVM with compressed oops. Interned keys are shared and therefore not counted, strings are counted with one byte per char (compact strings).
+     * @return the estimated size
+     */
+    public long estimateRetainedSize() {
+        long size = align(OBJECT_HEADER + 6L * REFERENCE);
+        size += align(ARRAY_HEADER + (long) keys.length * REFERENCE);
+        size += align(ARRAY_HEADER + types.length);
+        if (primitives != null)
+            size += align(ARRAY_HEADER + (long) primitives.length * Long.BYTES);
+        if (table != null)
+            size += align(ARRAY_HEADER + (long) table.length * Integer.BYTES);
+        if (objects != null) {
+            size += align(ARRAY_HEADER + (long) objects.length * REFERENCE);
+            for (Object value : objects) {
+                size += estimate(value);
+            }
+        }
+        return size;
+    }
+
+    private static long estimate(@Nullable final Object value) {
+        if (value == null)
+            return 0;
+        if (value instanceof CompactSection)
+            return ((CompactSection) value).estimateRetainedSize();
+        if (value instanceof String)
+            return align(OBJECT_HEADER + REFERENCE + 8) + align(ARRAY_HEADER + ((String) value).length());
+        if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            long size = align(OBJECT_HEADER + 2L * REFERENCE) + align(OBJECT_HEADER + 2L * REFERENCE) + align(ARRAY_HEADER + (long) list.size() * REFERENCE);
+            for (Object element : list) {
+                size += estimate(element);
+            }
+            return size;
+        }
+        if (value instanceof Map) {
+            long size = align(OBJECT_HEADER + 6L * REFERENCE);
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += align(OBJECT_HEADER + 4L * REFERENCE) + estimate(entry.getKey()) + estimate(entry.getValue());
+            }
+            return size;
+        }
+        return align(OBJECT_HEADER + 16);
+    }
+
+    private static long align(final long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.dataHandler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams a data directory into a single zip archive and back.
+ * <p>Files are copied through one fixed-size buffer, so memory usage does not depend on file or archive size.
+ */
+final class DataArchive {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_SUFFIX = ".import.tmp";
+
+    private DataArchive() {}
+
+    /**
+     * Exports every regular file of a directory (recursively).
+     * <p>The lock file and temporary files are skipped. Every file is read while holding its shared lock.
+     * @param directory the directory
+     * @param archive the archive to create or overwrite
+     * @param locking the file locking of the directory
+     * @param listener the listener (can be null)
+     * @return the amount of exported files
+     * @throws LoadSaveException if the directory could not be read or the archive could not be written
+     */
+    static int export(@NotNull final Path directory, @NotNull final Path archive, @NotNull final FileLocking locking, @Nullable final DataTransferListener listener) throws LoadSaveException {
+        List<Path> files = new ArrayList<>();
+        long bytesTotal = 0;
+        try (Stream<Path> stream = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) stream::iterator) {
+                if (Files.isRegularFile(path) && !path.equals(archive) && isDataFile(path)) {
+                    files.add(path);
+                    bytesTotal += Files.size(path);
+                }
+            }
+        } catch (IOException e) {
+            throw new LoadSaveException("directory " + directory.getFileName() + " could not be listed.");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long bytesDone = 0;
+        int count = 0;
+        try (OutputStream out = Channels.newOutputStream(FileChannel.open(archive, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+             ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, BUFFER_SIZE))) {
+            for (Path path : files) {
+                long bytes = locking.locked(directory.relativize(path).toString(), true, () -> copyEntry(directory, path, zip, buffer));
+                if (bytes < 0)
+                    continue; // deleted in the meantime
+                bytesDone += bytes;
+                count++;
+                if (listener != null)
+                    listener.onProgress(count, bytesDone, bytesTotal);
+            }
+        } catch (IOException e) {
+            throw new LoadSaveException("archive " + archive.getFileName() + " could not be written.");
+        }
+        return count;
+    }
+
+    private static long copyEntry(@NotNull final Path directory, @NotNull final Path path, @NotNull final ZipOutputStream zip, @NotNull final ByteBuffer buffer) throws IOException {
+        ZipEntry entry = new ZipEntry(directory.relativize(path).toString().replace('\\', '/'));
+        long bytes = 0;
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            entry.setLastModifiedTime(Files.getLastModifiedTime(path));
+            zip.putNextEntry(entry);
+            while (in.read(buffer) >= 0) {
+                zip.write(buffer.array(), 0, buffer.position());
+                bytes += buffer.position();
+                buffer.clear();
+            }
+        } catch (NoSuchFileException e) {
+            return -1;
+        }
+        zip.closeEntry();
+        return bytes;
+    }
+
+    /**
+     * Imports every file of an archive into a directory.
+     * <p>Existing files are replaced atomically while holding their exclusive lock. Files which are not part of the archive are kept.
+     * @param directory the directory
+     * @param archive the archive
+     * @param locking the file locking of the directory
+     * @param listener the listener (can be null)
+     * @return the amount of imported files
+     * @throws LoadSaveException if the archive could not be read, contains illegal entries or a file could not be written
+     */
+    static int importArchive(@NotNull final Path directory, @NotNull final Path archive, @NotNull final FileLocking locking, @Nullable final DataTransferListener listener) throws LoadSaveException {
+        Path root = directory.toAbsolutePath().normalize();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ);
+             ZipInputStream zip = new ZipInputStream(Channels.newInputStream(channel))) {
+            long bytesTotal = channel.size();
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory() || !isDataFile(Path.of(entry.getName())))
+                    continue;
+
+                Path target = root.resolve(entry.getName()).normalize();
+                if (!target.startsWith(root) || target.equals(root))
+                    throw new LoadSaveException("archive " + archive.getFileName() + " contains an illegal entry: " + entry.getName());
+                Files.createDirectories(target.getParent());
+
+                FileTime lastModified = entry.getLastModifiedTime();
+                locking.locked(root.relativize(target).toString(), false, () -> write(zip, target, lastModified, buffer));
+                count++;
+                if (listener != null)
+                    listener.onProgress(count, channel.position(), bytesTotal);
+            }
+        } catch (IOException e) {
+            throw new LoadSaveException("archive " + archive.getFileName() + " could not be imported.");
+        }
+        return count;
+    }
+
+    private static long write(@NotNull final InputStream in, @NotNull final Path target, @Nullable final FileTime lastModified, final byte[] buffer) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        long bytes = 0;
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    bytes += read;
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        out.write(chunk);
+                    }
+                }
+                out.force(true);
+            }
+            if (lastModified != null)
+                Files.setLastModifiedTime(temp, lastModified);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return bytes;
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {}
+            throw e;
+        }
+    }
+
+    private static boolean isDataFile(@NotNull final Path path) {
+        String name = path.getFileName().toString();
+        return !name.equals(DataDirectoryLock.LOCK_FILE_NAME) && !name.endsWith(".tmp");
+    }
+
+    /**
+     * Runs file operations of an archive transfer under the same locks the owning DataHandler uses.
+     */
+    @FunctionalInterface
+    interface FileLocking {
+        long locked(@NotNull String fileName, boolean shared, @NotNull FileOperation operation) throws IOException, LoadSaveException;
+    }
+
+    @FunctionalInterface
+    interface FileOperation {
+        long run() throws IOException;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.dataHandler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+/**
+ * Reads and writes the checksum header of data files.
+ * <p>The header is a fixed-width yml comment line like "#crc32c:1a2b3c4d" followed by a line break. The checksum covers every byte after the header.
+ */
+final class DataChecksum {
+
+    private static final byte[] PREFIX = "#crc32c:".getBytes(StandardCharsets.US_ASCII);
+    private static final int HEX_LENGTH = 8;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The length of the header in bytes (including the line break).
+     */
+    static final int HEADER_LENGTH = PREFIX.length + HEX_LENGTH + 1;
+
+    private DataChecksum() {}
+
+    /**
+     * Computes the checksum of the given bytes.
+     * @param data the data
+     * @param offset the offset within data
+     * @param length the amount of bytes
+     * @return the CRC32C checksum
+     */
+    static int compute(final byte[] data, final int offset, final int length) {
+        Checksum crc = create();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Creates a checksum for data which is written piecewise.
+     * @return a new CRC32C checksum
+     */
+    @NotNull
+    static Checksum create() {
+        return new CRC32C();
+    }
+
+    /**
+     * Creates the header for a checksum.
+     * @param checksum the checksum
+     * @return a buffer ready to be written
+     */
+    @NotNull
+    static ByteBuffer createHeader(final int checksum) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        header.put(PREFIX);
+        for (int shift = 28; shift >= 0; shift -= 4) {
+            header.put(HEX_DIGITS[(checksum >>> shift) & 0xF]);
+        }
+        header.put((byte) '\n');
+        return header.flip();
+    }
+
+    /**
+     * Checks if the data starts with a checksum header.
+     * @param data the data
+     * @return true if the data has a header, false otherwise
+     */
+    static boolean hasHeader(final byte[] data) {
+        if (data.length < HEADER_LENGTH || data[HEADER_LENGTH - 1] != '\n')
+            return false;
+        for (int i = 0; i < PREFIX.length; i++) {
+            if (data[i] != PREFIX[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Verifies the data against its header.
+     * @param fileName the fileName (only used for the exception message)
+     * @param data the data
+     * @param required whether data without header (including empty data) is rejected
+     * @return the offset of the payload, i. e. 0 if there is no header
+     * @throws ChecksumMismatchException if the header is malformed or does not match the payload or if a required header is missing
+     */
+    static int verify(@NotNull final String fileName, final byte[] data, final boolean required) throws ChecksumMismatchException {
+        if (!hasHeader(data)) {
+            if (required)
+                throw new ChecksumMismatchException("file " + fileName + " has no checksum header (it may be truncated).");
+            return 0;
+        }
+
+        int stored = 0;
+        for (int i = PREFIX.length; i < PREFIX.length + HEX_LENGTH; i++) {
+            int digit = Character.digit(data[i], 16);
+            if (digit < 0)
+                throw new ChecksumMismatchException("file " + fileName + " has a malformed checksum header.");
+            stored = (stored << 4) | digit;
+        }
+
+        int actual = compute(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+        if (stored != actual)
+            throw new ChecksumMismatchException("file " + fileName + " is corrupted (checksum mismatch).");
+        return HEADER_LENGTH;
+    }
+}
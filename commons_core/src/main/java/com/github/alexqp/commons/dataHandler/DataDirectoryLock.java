@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.dataHandler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coordinates access of multiple processes to one data directory.
+ * <p>Files are distributed onto a fixed number of shards. Every shard owns an 8 byte region within a single lock file which is used for OS-level locking and holds the shard's change sequence number.
+ * The sequence number gets incremented on every write, so other processes are able to detect changed shards without reading any data file.
+ * <p>Note: OS-level locks are held per process. Threads of the same process are coordinated by an additional lock per shard. Two instances must not be opened for the same directory within one process.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class DataDirectoryLock implements Closeable {
+
+    /**
+     * The name of the lock file within the data directory.
+     */
+    public static final String LOCK_FILE_NAME = ".datahandler.lock";
+
+    private static final int REGION_SIZE = Long.BYTES;
+
+    private final FileChannel channel;
+    private final ReentrantLock[] localLocks;
+
+    /**
+     * Opens (or creates) the lock file of a directory.
+     * <p>Note: All processes sharing the directory must use the same amount of shards.
+     * @param directory the data directory
+     * @param shards the amount of shards
+     * @throws IllegalArgumentException if shards is not positive
+     * @throws LoadSaveException if the lock file could not be opened
+     */
+    public DataDirectoryLock(@NotNull final File directory, final int shards) throws IllegalArgumentException, LoadSaveException {
+        if (shards <= 0)
+            throw new IllegalArgumentException("shards must be positive");
+
+        try {
+            this.channel = FileChannel.open(new File(directory, LOCK_FILE_NAME).toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new LoadSaveException("lock file could not be opened.");
+        }
+
+        this.localLocks = new ReentrantLock[shards];
+        for (int i = 0; i < shards; i++) {
+            localLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Gets the amount of shards.
+     * @return the amount of shards
+     */
+    public int getShards() {
+        return localLocks.length;
+    }
+
+    /**
+     * Gets the shard of a file.
+     * @param fileName the fileName (with .yml)
+     * @return the shard index
+     */
+    public int getShard(@NotNull final String fileName) {
+        return Math.floorMod(fileName.hashCode(), localLocks.length);
+    }
+
+    /**
+     * Locks the shard of a file.
+     * <p>The returned handle must be closed. Locks of the same thread are not reentrant.
+     * @param fileName the fileName (with .yml)
+     * @param shared true for reading, false for writing
+     * @return the lock handle
+     * @throws LoadSaveException if the OS-level lock could not be acquired
+     */
+    @NotNull
+    public Handle lock(@NotNull final String fileName, final boolean shared) throws LoadSaveException {
+        int shard = this.getShard(fileName);
+        ReentrantLock localLock = localLocks[shard];
+        localLock.lock();
+        try {
+            return new Handle(shard, channel.lock((long) shard * REGION_SIZE, REGION_SIZE, shared), localLock);
+        } catch (IOException e) {
+            localLock.unlock();
+            throw new LoadSaveException("could not lock shard " + shard + ".");
+        } catch (RuntimeException e) { // e. g. OverlappingFileLockException
+            localLock.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the change sequence number of a file's shard.
+     * <p>The number gets incremented by every process whenever a file of this shard is written or deleted.
+     * @param fileName the fileName (with .yml)
+     * @return the current change sequence number
+     * @throws LoadSaveException if the lock file could not be read
+     */
+    public long getChangeSequence(@NotNull final String fileName) throws LoadSaveException {
+        return this.readSequence(this.getShard(fileName));
+    }
+
+    /**
+     * Gets the change sequence numbers of all shards.
+     * <p>This reads the whole lock file at once without locking. Callers should compare the result to a previous snapshot and refresh cached files of changed shards only.
+     * @return the current change sequence numbers indexed by shard
+     * @throws LoadSaveException if the lock file could not be read
+     */
+    public long[] getChangeSequences() throws LoadSaveException {
+        ByteBuffer buffer = ByteBuffer.allocate(localLocks.length * REGION_SIZE);
+        this.read(buffer, 0);
+        long[] sequences = new long[localLocks.length];
+        buffer.flip();
+        for (int i = 0; i < sequences.length && buffer.remaining() >= REGION_SIZE; i++) {
+            sequences[i] = buffer.getLong();
+        }
+        return sequences;
+    }
+
+    private long readSequence(final int shard) throws LoadSaveException {
+        ByteBuffer buffer = ByteBuffer.allocate(REGION_SIZE);
+        this.read(buffer, (long) shard * REGION_SIZE);
+        buffer.flip();
+        return buffer.remaining() == REGION_SIZE ? buffer.getLong() : 0;
+    }
+
+    private void read(@NotNull final ByteBuffer buffer, long position) throws LoadSaveException {
+        try {
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0)
+                    break;
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new LoadSaveException("lock file could not be read.");
+        }
+    }
+
+    /**
+     * Closes the lock file. Any held handles become invalid.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {}
+    }
+
+    /**
+     * A held lock of one shard.
+     */
+    public final class Handle implements AutoCloseable {
+
+        private final int shard;
+        private final FileLock fileLock;
+        private final ReentrantLock localLock;
+
+        private Handle(final int shard, @NotNull final FileLock fileLock, @NotNull final ReentrantLock localLock) {
+            this.shard = shard;
+            this.fileLock = fileLock;
+            this.localLock = localLock;
+        }
+
+        /**
+         * Gets the shard index.
+         * @return the shard index
+         */
+        public int getShard() {
+            return shard;
+        }
+
+        /**
+         * Increments the shard's change sequence number.
+         * @return the new change sequence number
+         * @throws IllegalStateException if the handle is shared
+         * @throws LoadSaveException if the lock file could not be written
+         */
+        public long publishChange() throws IllegalStateException, LoadSaveException {
+            if (fileLock.isShared())
+                throw new IllegalStateException("shared handles cannot publish changes");
+
+            long sequence = readSequence(shard) + 1;
+            ByteBuffer buffer = ByteBuffer.allocate(REGION_SIZE).putLong(0, sequence);
+            try {
+                long position = (long) shard * REGION_SIZE;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            } catch (IOException e) {
+                throw new LoadSaveException("lock file could not be written.");
+            }
+            return sequence;
+        }
+
+        /**
+         * Releases the lock.
+         */
+        @Override
+        public void close() {
+            try {
+                fileLock.release();
+            } catch (IOException ignored) {
+            } finally {
+                localLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.dataHandler;
+
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Deletes expired data files in small batches off the main thread.
+ * <p>Every run checks at most batchSize files and continues where the previous run stopped. After the last file the next run starts a new pass over the directory.
+ * @see DataHandler#startExpirySweeper(ExpiryPolicy, int, long, Consumer)
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class DataExpirySweeper implements Runnable {
+
+    private final DataHandler dataHandler;
+    private final Path directory;
+    private final ExpiryPolicy policy;
+    private final int batchSize;
+    private final @Nullable Consumer<Set<String>> reporter;
+
+    private @Nullable DirectoryStream<Path> stream;
+    private @Nullable Iterator<Path> iterator;
+    private @Nullable BukkitTask task;
+    private long removedTotal = 0;
+
+    DataExpirySweeper(@NotNull final DataHandler dataHandler, @NotNull final Path directory, @NotNull final ExpiryPolicy policy, final int batchSize, @Nullable final Consumer<Set<String>> reporter) {
+        this.dataHandler = dataHandler;
+        this.directory = directory;
+        this.policy = policy;
+        this.batchSize = batchSize;
+        this.reporter = reporter;
+    }
+
+    void setTask(@NotNull final BukkitTask task) {
+        this.task = task;
+    }
+
+    /**
+     * Gets the policy.
+     * @return the policy
+     */
+    @NotNull
+    public ExpiryPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gets the amount of files removed since the sweeper got started.
+     * @return the amount of removed files
+     */
+    public synchronized long getRemovedTotal() {
+        return removedTotal;
+    }
+
+    /**
+     * Checks the next batch of files.
+     * <p>Note: This is executed by the scheduler, but may also be called directly from any thread.
+     */
+    @Override
+    public synchronized void run() {
+        Set<String> removed = new LinkedHashSet<>();
+        try {
+            if (iterator == null) {
+                stream = Files.newDirectoryStream(directory, "*.yml");
+                iterator = stream.iterator();
+            }
+
+            long now = System.currentTimeMillis();
+            for (int checked = 0; checked < batchSize && iterator.hasNext(); checked++) {
+                String fileName = iterator.next().getFileName().toString();
+                if (dataHandler.deleteExpiredFile(fileName, policy, now))
+                    removed.add(fileName.substring(0, fileName.length() - 4));
+            }
+
+            if (!iterator.hasNext())
+                this.closeStream();
+        } catch (IOException | DirectoryIteratorException e) {
+            this.closeStream();
+        }
+
+        removedTotal += removed.size();
+        if (!removed.isEmpty() && reporter != null)
+            reporter.accept(Collections.unmodifiableSet(removed));
+    }
+
+    /**
+     * Stops the sweeper.
+     */
+    public synchronized void cancel() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        this.closeStream();
+    }
+
+    private void closeStream() {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException ignored) {}
+        }
+        stream = null;
+        iterator = null;
+    }
+}
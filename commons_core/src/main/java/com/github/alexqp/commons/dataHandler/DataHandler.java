@@ -17,26 +17,79 @@
 
 package com.github.alexqp.commons.dataHandler;
 
+import com.github.alexqp.commons.collections.AbstractUUIDMap;
 import com.github.alexqp.commons.config.ConsoleErrorType;
 import com.github.alexqp.commons.messages.ConsoleMessage;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.Configuration;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.error.YAMLException;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.Checksum;
 
 @SuppressWarnings({"unused", "WeakerAccess"})
 public class DataHandler {
 
 
+    /**
+     * The default amount of shards used for process locking.
+     */
+    public static final int DEFAULT_LOCK_SHARDS = 64;
+
+    /**
+     * The reserved key under which files saved as delta list the paths of defaults which were removed.
+     */
+    public static final String DELTA_REMOVED_KEY = "~removed";
+
     private final JavaPlugin plugin;
     private File subDirectory;
+    private @Nullable DataDirectoryLock directoryLock;
+    private boolean checksums = false;
+    private boolean acceptUnverified = false;
+    private boolean directLoading = false;
+    private @Nullable ValueCanonicalizer canonicalizer;
+    private @Nullable DataExpirySweeper expirySweeper;
+    private volatile boolean trackAccess = false;
+    private final Map<String, DataIndex> indexes = new ConcurrentHashMap<>();
+    private final ReentrantLock[] fileLocks = new ReentrantLock[DEFAULT_LOCK_SHARDS];
+    private final Map<String, Configuration> defaultsByType = new HashMap<>();
 
     /**
      * Constructs a DataHandler with the plugin's folder as subDirectory.
@@ -45,6 +98,9 @@ public class DataHandler {
     public DataHandler(JavaPlugin plugin) {
         this.plugin = plugin;
         this.subDirectory = plugin.getDataFolder();
+        for (int i = 0; i < fileLocks.length; i++) {
+            fileLocks[i] = new ReentrantLock();
+        }
     }
 
     /**
@@ -74,12 +130,18 @@ public class DataHandler {
         if (subDirectory.equals(plugin.getDataFolder())) {
             throw new LoadSaveException("cannot delete plugin folder.");
         }
+        if (directoryLock != null) {
+            throw new LoadSaveException("cannot delete subDirectory while process locking is enabled.");
+        }
 
         if (!this.deleteDirectory(subDirectory)) {
             throw new LoadSaveException("could not delete subDirectory.");
         }
 
         subDirectory = this.getSubDirectory(subDirectory.getName());
+        for (DataIndex index : indexes.values()) {
+            index.clear();
+        }
     }
 
     private boolean deleteDirectory(File directory) {
@@ -92,6 +154,209 @@ public class DataHandler {
         return directory.delete();
     }
 
+    /**
+     * Enables process locking with the default amount of shards.
+     * @throws IllegalStateException if indexes exist
+     * @throws LoadSaveException if the lock file could not be opened
+     * @see DataHandler#enableProcessLocking(int)
+     */
+    public void enableProcessLocking() throws IllegalStateException, LoadSaveException {
+        this.enableProcessLocking(DEFAULT_LOCK_SHARDS);
+    }
+
+    /**
+     * Enables process locking, i. e. multiple processes (servers) can safely share the subDirectory.
+     * <p>Writes and deletions take an OS-level lock of the file's shard and replace files atomically. Reads take a shared lock.
+     * Every write publishes a change sequence number per shard which other processes may poll via {@link DataHandler#getChangeSequences()} in order to refresh cached copies.
+     * <p>Note: All processes sharing the subDirectory must use the same amount of shards. Indexes are not supported, as they only see saves of their own process.
+     * @param shards the amount of shards
+     * @throws IllegalArgumentException if shards is not positive
+     * @throws IllegalStateException if indexes exist
+     * @throws LoadSaveException if the lock file could not be opened
+     * @see DataDirectoryLock
+     */
+    public void enableProcessLocking(final int shards) throws IllegalArgumentException, IllegalStateException, LoadSaveException {
+        if (!indexes.isEmpty())
+            throw new IllegalStateException("process locking cannot be enabled while indexes exist");
+        this.disableProcessLocking();
+        this.directoryLock = new DataDirectoryLock(subDirectory, shards);
+    }
+
+    /**
+     * Disables process locking and closes the lock file.
+     */
+    public void disableProcessLocking() {
+        if (directoryLock != null) {
+            directoryLock.close();
+            directoryLock = null;
+        }
+    }
+
+    /**
+     * Checks if process locking is enabled.
+     * @return true if process locking is enabled, false otherwise
+     */
+    public boolean isProcessLocking() {
+        return directoryLock != null;
+    }
+
+    /**
+     * Gets the change sequence number of the shard a file belongs to.
+     * @param fileName the fileName (with or without .yml)
+     * @return the change sequence number
+     * @throws IllegalStateException if process locking is not enabled
+     * @throws LoadSaveException if the lock file could not be read
+     * @see DataDirectoryLock#getChangeSequence(String)
+     */
+    public long getChangeSequence(@NotNull final String fileName) throws IllegalStateException, LoadSaveException {
+        return this.getDirectoryLock().getChangeSequence(this.getYmlFileName(fileName));
+    }
+
+    /**
+     * Gets the change sequence numbers of all shards.
+     * @return the change sequence numbers indexed by shard
+     * @throws IllegalStateException if process locking is not enabled
+     * @throws LoadSaveException if the lock file could not be read
+     * @see DataDirectoryLock#getChangeSequences()
+     */
+    public long[] getChangeSequences() throws IllegalStateException, LoadSaveException {
+        return this.getDirectoryLock().getChangeSequences();
+    }
+
+    /**
+     * Gets the shard a file belongs to.
+     * @param fileName the fileName (with or without .yml)
+     * @return the shard index
+     * @throws IllegalStateException if process locking is not enabled
+     */
+    public int getShard(@NotNull final String fileName) throws IllegalStateException {
+        return this.getDirectoryLock().getShard(this.getYmlFileName(fileName));
+    }
+
+    @NotNull
+    private DataDirectoryLock getDirectoryLock() throws IllegalStateException {
+        if (directoryLock == null)
+            throw new IllegalStateException("process locking is not enabled");
+        return directoryLock;
+    }
+
+    /**
+     * Sets whether saved files get a CRC32C checksum header.
+     * <p>The header is a yml comment in the first line, so files stay readable by other tools. Loading always verifies files which have a header.
+     * While checksums are enabled, files without header (including empty or truncated files) are rejected as corrupted unless {@link DataHandler#setAcceptUnverified(boolean)} is enabled.
+     * @param checksums should checksums be written?
+     * @see DataHandler#loadVerifiedYmlFile(String)
+     */
+    public void setChecksums(final boolean checksums) {
+        this.checksums = checksums;
+    }
+
+    /**
+     * Checks if saved files get a checksum header.
+     * @return true if checksums are written, false otherwise
+     */
+    public boolean isChecksums() {
+        return checksums;
+    }
+
+    /**
+     * Sets whether files without checksum header are loaded while checksums are enabled.
+     * <p>This is meant for migrating existing files, which get their header on the next save. Disable it again once all files were saved.
+     * @param acceptUnverified should files without header be loaded?
+     * @see DataHandler#setChecksums(boolean)
+     */
+    public void setAcceptUnverified(final boolean acceptUnverified) {
+        this.acceptUnverified = acceptUnverified;
+    }
+
+    /**
+     * Checks if files without checksum header are loaded while checksums are enabled.
+     * @return true if files without header are loaded, false otherwise
+     */
+    public boolean isAcceptUnverified() {
+        return acceptUnverified;
+    }
+
+    /**
+     * Starts a sweeper which deletes expired yml files asynchronously in small batches.
+     * <p>Every run checks at most batchSize files and continues where the previous run stopped, i. e. the whole subDirectory is never listed at once.
+     * Deleted files are reported by name (without .yml). A running sweeper gets stopped first.
+     * <p>Note: Every yml file of the subDirectory is subject to expiry, therefore a sweeper cannot be started if the subDirectory is the plugin's folder (which holds e. g. config.yml).
+     * @param policy the expiry policy
+     * @param batchSize the maximum amount of files checked per run
+     * @param periodTicks the period between two runs in ticks
+     * @param reporter receives the names of files removed by one run (can be null), gets executed asynchronously
+     * @return the sweeper
+     * @throws IllegalArgumentException if batchSize or periodTicks is not positive
+     * @throws IllegalStateException if the subDirectory is the plugin's folder
+     * @see ExpiryPolicy
+     */
+    @NotNull
+    public DataExpirySweeper startExpirySweeper(@NotNull final ExpiryPolicy policy, final int batchSize, final long periodTicks, @Nullable final Consumer<Set<String>> reporter)
+            throws IllegalArgumentException, IllegalStateException {
+        if (batchSize <= 0 || periodTicks <= 0)
+            throw new IllegalArgumentException("batchSize and periodTicks must be positive");
+        if (subDirectory.equals(plugin.getDataFolder()))
+            throw new IllegalStateException("cannot sweep the plugin folder, use a subDirectory for expiring data");
+
+        this.stopExpirySweeper();
+        DataExpirySweeper sweeper = new DataExpirySweeper(this, subDirectory.toPath(), policy, batchSize, reporter);
+        sweeper.setTask(Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, sweeper, periodTicks, periodTicks));
+        this.expirySweeper = sweeper;
+        this.trackAccess = policy.getBasis() == ExpiryPolicy.Basis.LAST_ACCESS;
+        return sweeper;
+    }
+
+    /**
+     * Stops the running expiry sweeper (if any).
+     */
+    public void stopExpirySweeper() {
+        if (expirySweeper != null) {
+            expirySweeper.cancel();
+            expirySweeper = null;
+        }
+        this.trackAccess = false;
+    }
+
+    /**
+     * Sets whether yml files are loaded directly from parser events.
+     * <p>Bukkit's loader reads the whole file into a String, builds a node tree, converts it into nested maps and copies those into sections.
+     * The direct loader builds the sections while parsing instead, which saves time and garbage. The result is equivalent (including comments).
+     * Files using yml features the direct loader does not support (like anchors and aliases) are loaded by Bukkit's loader.
+     * @param directLoading should files be loaded directly?
+     */
+    public void setDirectLoading(final boolean directLoading) {
+        this.directLoading = directLoading;
+    }
+
+    /**
+     * Checks if yml files are loaded directly from parser events.
+     * @return true if files are loaded directly, false otherwise
+     */
+    public boolean isDirectLoading() {
+        return directLoading;
+    }
+
+    /**
+     * Sets the canonicalizer which deduplicates equal values of every loaded yml file.
+     * <p>This applies to every load of this DataHandler including {@link DataHandler#loadConfigurationSerializables(Class, String)}.
+     * With direct loading enabled values are canonicalized while parsing, otherwise afterwards.
+     * @param canonicalizer the canonicalizer or null to disable canonicalization
+     * @see ValueCanonicalizer
+     */
+    public void setCanonicalizer(@Nullable final ValueCanonicalizer canonicalizer) {
+        this.canonicalizer = canonicalizer;
+    }
+
+    /**
+     * Gets the canonicalizer.
+     * @return the canonicalizer or null if disabled
+     */
+    @Nullable
+    public ValueCanonicalizer getCanonicalizer() {
+        return canonicalizer;
+    }
+
     /**
      * Deletes a specific file.
      * @param fileName the fileName (with or without .yml)
@@ -99,8 +364,68 @@ public class DataHandler {
      */
     public boolean deleteYmlFile(String fileName) {
         fileName = this.getYmlFileName(fileName);
+        return this.deleteFile(fileName);
+    }
+
+    private boolean deleteFile(@NotNull final String fileName) {
+        return this.deleteFile(fileName, null);
+    }
+
+    /**
+     * Deletes a file if it is expired.
+     * <p>The expiry is checked again right before deletion under the file's lock.
+     * @param fileName the fileName (with .yml)
+     * @param policy the policy
+     * @param now the current time in milliseconds
+     * @return true if the file got deleted, false otherwise
+     */
+    boolean deleteExpiredFile(@NotNull final String fileName, @NotNull final ExpiryPolicy policy, final long now) {
+        return this.deleteFile(fileName, path -> {
+            try {
+                return policy.isExpired(Files.readAttributes(path, BasicFileAttributes.class), now);
+            } catch (IOException e) {
+                return false;
+            }
+        });
+    }
+
+    private boolean deleteFile(@NotNull final String fileName, @Nullable final Predicate<Path> condition) {
         File file = new File(subDirectory, fileName);
-        return file.delete();
+        if (directoryLock == null) {
+            ReentrantLock fileLock = this.getFileLock(fileName);
+            fileLock.lock();
+            try {
+                if ((condition != null && !condition.test(file.toPath())) || !file.delete())
+                    return false;
+                this.removeFromIndexes(fileName);
+            } finally {
+                fileLock.unlock();
+            }
+        } else {
+            try (DataDirectoryLock.Handle handle = directoryLock.lock(fileName, false)) {
+                if ((condition != null && !condition.test(file.toPath())) || !file.delete())
+                    return false;
+                handle.publishChange();
+            } catch (LoadSaveException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeFromIndexes(@NotNull final String fileName) {
+        for (DataIndex index : indexes.values()) {
+            try {
+                index.remove(this.getRecordName(fileName));
+            } catch (LoadSaveException e) {
+                ConsoleMessage.send(ConsoleErrorType.ERROR, plugin, e.getMessage());
+            }
+        }
+    }
+
+    @NotNull
+    private ReentrantLock getFileLock(@NotNull final String fileName) {
+        return fileLocks[Math.floorMod(fileName.hashCode(), fileLocks.length)];
     }
 
     /**
@@ -117,7 +442,7 @@ public class DataHandler {
                 if (!file.getName().contains(".yml") || fileNames.contains(file.getName()) || fileNames.contains(file.getName().replace(".yml", "")))
                     continue;
 
-                if (!file.delete()) {
+                if (!this.deleteFile(file.getName())) {
                     notDeleted.add(file.getName());
                 }
             }
@@ -131,6 +456,138 @@ public class DataHandler {
         return fileName;
     }
 
+    private String getRecordName(final String fileName) {
+        if (fileName.endsWith(".yml"))
+            return fileName.substring(0, fileName.length() - 4);
+        return fileName;
+    }
+
+    /**
+     * Adds a secondary index over a numeric path of every yml file, e. g. "stats.kills".
+     * <p>The index is persisted within the subDirectory. If there is no usable persisted index, this will build it by loading every yml file once.
+     * Afterwards the index is maintained on every save and deletion of this DataHandler. A persisted index is rebuilt if files changed without it.
+     * @param name the index name (must be usable as part of a fileName)
+     * @param path the path within every yml file, values are indexed as long
+     * @return the index
+     * @throws IllegalArgumentException if an index with this name already exists
+     * @throws IllegalStateException if process locking is enabled
+     * @throws LoadSaveException if the index could not be opened or persisted
+     * @see DataIndex
+     */
+    @NotNull
+    public synchronized DataIndex addIndex(@NotNull final String name, @NotNull final String path) throws IllegalArgumentException, IllegalStateException, LoadSaveException {
+        if (directoryLock != null)
+            throw new IllegalStateException("indexes cannot be used together with process locking");
+        if (indexes.containsKey(name))
+            throw new IllegalArgumentException("index " + name + " already exists");
+
+        DataIndex index = new DataIndex(subDirectory.toPath(), name, path);
+        // registered first so that concurrent saves are not missed while rebuilding
+        indexes.put(name, index);
+        try {
+            if (!index.open())
+                this.rebuildIndex(index);
+        } catch (LoadSaveException | RuntimeException e) {
+            indexes.remove(name);
+            index.close();
+            throw e;
+        }
+        return index;
+    }
+
+    /**
+     * Gets an index by name.
+     * @param name the index name
+     * @return the index or null if not existent
+     */
+    @Nullable
+    public DataIndex getIndex(@NotNull final String name) {
+        return indexes.get(name);
+    }
+
+    /**
+     * Removes an index and deletes its persisted data.
+     * @param name the index name
+     * @return true if the index existed, false otherwise
+     */
+    public synchronized boolean removeIndex(@NotNull final String name) {
+        DataIndex index = indexes.remove(name);
+        if (index == null)
+            return false;
+
+        index.close();
+        try {
+            Files.deleteIfExists(DataIndex.getLogFile(subDirectory.toPath(), name));
+        } catch (IOException ignored) {}
+        return true;
+    }
+
+    private void rebuildIndex(@NotNull final DataIndex index) throws LoadSaveException {
+        index.clear();
+        File[] contents = subDirectory.listFiles();
+        if (contents != null) {
+            for (File file : contents) {
+                if (!file.getName().endsWith(".yml"))
+                    continue;
+
+                ReentrantLock fileLock = this.getFileLock(file.getName());
+                fileLock.lock();
+                try {
+                    if (file.exists())
+                        index.update(this.getRecordName(file.getName()), this.loadVerifiedYmlFile(file.getName()));
+                } finally {
+                    fileLock.unlock();
+                }
+            }
+        }
+    }
+
+    private void updateIndexes(@NotNull final String fileName, @NotNull final ConfigurationSection section) throws LoadSaveException {
+        for (DataIndex index : indexes.values()) {
+            index.update(this.getRecordName(fileName), section);
+        }
+    }
+
+    /**
+     * Registers a defaults template for a data type, e. g. "player".
+     * <p>Files of this type can then be saved as delta and loaded as layered view, see {@link DataHandler#saveDeltaYmlFile(String, String, ConfigurationSection)}.
+     * The template gets copied, later changes to it have no effect. An already registered template of the type is replaced.
+     * @param type the data type
+     * @param template the default values
+     */
+    public void registerDefaults(@NotNull final String type, @NotNull final ConfigurationSection template) {
+        defaultsByType.put(type, new ReadOnlyConfiguration(template, Set.of()));
+    }
+
+    /**
+     * Gets the shared defaults of a data type.
+     * <p>Note: The returned instance is shared by every file loaded with {@link DataHandler#loadDeltaYmlFile(String, String)} and cannot be modified.
+     * @param type the data type
+     * @return the defaults or null if none are registered
+     */
+    @Nullable
+    public Configuration getDefaults(@NotNull final String type) {
+        return defaultsByType.get(type);
+    }
+
+    /**
+     * Unregisters the defaults of a data type.
+     * <p>Note: Files saved as delta are incomplete without their defaults.
+     * @param type the data type
+     * @return true if defaults were registered, false otherwise
+     */
+    public boolean unregisterDefaults(@NotNull final String type) {
+        return defaultsByType.remove(type) != null;
+    }
+
+    @NotNull
+    private Configuration getRegisteredDefaults(@NotNull final String type) throws IllegalArgumentException {
+        Configuration defaults = defaultsByType.get(type);
+        if (defaults == null)
+            throw new IllegalArgumentException("no defaults registered for type " + type);
+        return defaults;
+    }
+
     /**
      * Saves the given ymlFile.
      * @param fileName the fileName (with or without .yml)
@@ -139,13 +596,77 @@ public class DataHandler {
      * @see DataHandler#saveYmlFile(String, YamlConfiguration, boolean)
      */
     public void saveYmlFile(String fileName, final YamlConfiguration ymlFile) throws LoadSaveException {
-        fileName = this.getYmlFileName(fileName);
-        File file = new File(subDirectory, fileName);
+        final String ymlFileName = this.getYmlFileName(fileName);
+        final File file = new File(subDirectory, ymlFileName);
+
+        this.writeLocked(ymlFileName, () -> {
+            if (directoryLock == null && !checksums) {
+                try {
+                    ymlFile.save(file);
+                } catch (IOException e) {
+                    throw new LoadSaveException("file " + ymlFileName + " could not be saved.");
+                }
+            } else {
+                this.writeAtomically(file, ymlFile.saveToString().getBytes(StandardCharsets.UTF_8));
+            }
+            this.updateIndexes(ymlFileName, ymlFile);
+            return null;
+        });
+    }
+
+    private <T> T writeLocked(@NotNull final String fileName, @NotNull final LoadSaveCallable<T> write) throws LoadSaveException {
+        if (directoryLock == null) {
+            ReentrantLock fileLock = this.getFileLock(fileName);
+            fileLock.lock();
+            try {
+                return write.call();
+            } finally {
+                fileLock.unlock();
+            }
+        }
 
+        try (DataDirectoryLock.Handle handle = directoryLock.lock(fileName, false)) {
+            T result = write.call();
+            handle.publishChange();
+            return result;
+        }
+    }
+
+    private void writeAtomically(@NotNull final File file, final byte[] data) throws LoadSaveException {
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(file.getName() + ".tmp");
         try {
-            ymlFile.save(file);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer payload = ByteBuffer.wrap(data);
+                ByteBuffer[] buffers;
+                if (checksums)
+                    buffers = new ByteBuffer[] {DataChecksum.createHeader(DataChecksum.compute(data, 0, data.length)), payload};
+                else
+                    buffers = new ByteBuffer[] {payload};
+
+                while (payload.hasRemaining()) {
+                    channel.write(buffers);
+                }
+                channel.force(true);
+            }
+            this.moveAtomically(temp, target);
         } catch (IOException e) {
-            throw new LoadSaveException("file " + fileName + "could not be saved.");
+            deleteTemp(temp);
+            throw new LoadSaveException("file " + file.getName() + " could not be saved.");
+        }
+    }
+
+    private static void deleteTemp(@NotNull final Path temp) {
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException ignored) {}
+    }
+
+    private void moveAtomically(@NotNull final Path source, @NotNull final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
@@ -172,13 +693,382 @@ public class DataHandler {
 
     /**
      * Loads a YamlConfiguration into the given fileName.
+     * <p>Note: If the file could not be read or parsed this will send an error msg and return an empty yml-Configuration.
+     * If the file is corrupted (see {@link DataHandler#setChecksums(boolean)}) this will send an error msg and return null, so the file is not overwritten by accident.
      * @param fileName the fileName (with or without .yml)
-     * @return the loaded yml-Configuration
+     * @return the loaded yml-Configuration or null if the file is corrupted
+     * @see DataHandler#loadVerifiedYmlFile(String)
      */
+    @Nullable
     public YamlConfiguration loadYmlFile(String fileName) {
+        try {
+            return this.loadVerifiedYmlFile(fileName);
+        } catch (ChecksumMismatchException e) {
+            ConsoleMessage.send(ConsoleErrorType.ERROR, plugin, e.getMessage());
+            return null;
+        } catch (LoadSaveException e) {
+            ConsoleMessage.send(ConsoleErrorType.ERROR, plugin, e.getMessage());
+            return new YamlConfiguration();
+        }
+    }
+
+    /**
+     * Loads a YamlConfiguration into the given fileName, verifying its checksum header before parsing.
+     * <p>Files without checksum header are loaded without verification if checksums are disabled (or {@link DataHandler#setAcceptUnverified(boolean)} is enabled).
+     * A non-existent file results in an empty yml-Configuration.
+     * @param fileName the fileName (with or without .yml)
+     * @return the loaded yml-Configuration
+     * @throws ChecksumMismatchException if the file is corrupted or lacks a required checksum header
+     * @throws LoadSaveException if the file could not be read or parsed
+     * @see DataHandler#setChecksums(boolean)
+     */
+    public YamlConfiguration loadVerifiedYmlFile(String fileName) throws LoadSaveException {
         fileName = this.getYmlFileName(fileName);
-        File file = new File(subDirectory, fileName);
-        return YamlConfiguration.loadConfiguration(file);
+        YamlConfiguration ymlFile = new YamlConfiguration();
+
+        byte[] data = this.readFile(fileName);
+        if (data == null)
+            return ymlFile;
+
+        int offset = DataChecksum.verify(fileName, data, checksums && !acceptUnverified);
+        try {
+            if (directLoading) {
+                Reader reader = new InputStreamReader(new ByteArrayInputStream(data, offset, data.length - offset), StandardCharsets.UTF_8);
+                if (YamlEventLoader.load(reader, ymlFile, canonicalizer))
+                    return ymlFile;
+            }
+            ymlFile.loadFromString(new String(data, offset, data.length - offset, StandardCharsets.UTF_8));
+            if (canonicalizer != null)
+                canonicalizer.canonicalizeAll(ymlFile);
+        } catch (InvalidConfigurationException e) {
+            throw new LoadSaveException("file " + fileName + " could not be parsed.");
+        }
+        return ymlFile;
+    }
+
+    /**
+     * Loads a yml file into a compact, read-only tree.
+     * <p>This is meant for data which is kept in memory for a long time. The loaded yml-Configuration is discarded right away.
+     * @param fileName the fileName (with or without .yml)
+     * @return the compact tree (empty if the file could not be loaded or null if it is corrupted, see {@link DataHandler#loadYmlFile(String)})
+     * @see CompactSection
+     */
+    @Nullable
+    public CompactSection loadCompactYmlFile(@NotNull final String fileName) {
+        YamlConfiguration ymlFile = this.loadYmlFile(fileName);
+        return ymlFile == null ? null : CompactSection.of(ymlFile);
+    }
+
+    /**
+     * Saves only the values which differ from the registered defaults of a data type.
+     * <p>Values equal to the defaults are left out and fall back to the defaults on load. Values are compared with {@link Objects#equals(Object, Object)}.
+     * Paths of the defaults which data does not contain (considering the defaults of data itself) are listed under {@link DataHandler#DELTA_REMOVED_KEY} and stay removed on load.
+     * <p>Note: Indexes only see stored values, i. e. values equal to the defaults are not indexed.
+     * @param type the data type
+     * @param fileName the fileName (with or without .yml)
+     * @param data the complete data
+     * @throws IllegalArgumentException if no defaults are registered for type
+     * @throws LoadSaveException if file could not be saved.
+     * @see DataHandler#registerDefaults(String, ConfigurationSection)
+     */
+    public void saveDeltaYmlFile(@NotNull final String type, @NotNull final String fileName, @NotNull final ConfigurationSection data)
+            throws IllegalArgumentException, LoadSaveException {
+        Configuration defaults = this.getRegisteredDefaults(type);
+        YamlConfiguration delta = new YamlConfiguration();
+        for (String key : data.getKeys(true)) {
+            if (key.equals(DELTA_REMOVED_KEY))
+                continue;
+
+            Object value = data.get(key);
+            if (value instanceof ConfigurationSection) {
+                if (((ConfigurationSection) value).getKeys(false).isEmpty() && !defaults.isConfigurationSection(key))
+                    delta.createSection(key);
+            } else if (!Objects.equals(value, defaults.get(key))) {
+                delta.set(key, value);
+            }
+        }
+
+        List<String> removed = new ArrayList<>();
+        for (String key : defaults.getKeys(true)) {
+            if (!data.contains(key) && !isRemoved(removed, key))
+                removed.add(key);
+        }
+        if (!removed.isEmpty())
+            delta.set(DELTA_REMOVED_KEY, removed);
+        this.saveYmlFile(fileName, delta);
+    }
+
+    private static boolean isRemoved(@NotNull final List<String> removed, @NotNull final String key) {
+        for (String path : removed) {
+            if (key.startsWith(path + "."))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Loads a file saved as delta as layered view on top of the shared defaults of its data type.
+     * <p>Values which are not stored in the file are looked up in the defaults, so the result behaves like the complete data.
+     * Only the stored values are held per file, the defaults are held once. Files with removed paths get their own copy of the defaults without them.
+     * <p>Note: If the file could not be loaded this will send an error msg and return a view of the defaults only. If it is corrupted this will return null.
+     * @param type the data type
+     * @param fileName the fileName (with or without .yml)
+     * @return the layered yml-Configuration or null if the file is corrupted
+     * @throws IllegalArgumentException if no defaults are registered for type
+     * @see DataHandler#saveDeltaYmlFile(String, String, ConfigurationSection)
+     * @see DataHandler#loadYmlFile(String)
+     */
+    @Nullable
+    public YamlConfiguration loadDeltaYmlFile(@NotNull final String type, @NotNull final String fileName) throws IllegalArgumentException {
+        Configuration defaults = this.getRegisteredDefaults(type);
+        YamlConfiguration ymlFile = this.loadYmlFile(fileName);
+        if (ymlFile == null)
+            return null;
+
+        List<String> removed = ymlFile.getStringList(DELTA_REMOVED_KEY);
+        if (!removed.isEmpty()) {
+            ymlFile.set(DELTA_REMOVED_KEY, null);
+            defaults = new ReadOnlyConfiguration(defaults, new HashSet<>(removed));
+        }
+        ymlFile.setDefaults(defaults);
+        return ymlFile;
+    }
+
+    /**
+     * Saves the values of a section as memory-mapped data file ("fileName.mdf").
+     * <p>Such files are meant for large static data which is converted once and only read afterwards, see {@link MappedDataFile}.
+     * @param fileName the fileName (with or without .mdf)
+     * @param section the section to convert
+     * @throws IllegalArgumentException if the section contains unsupported values
+     * @throws LoadSaveException if file could not be saved.
+     * @see DataHandler#openMappedFile(String)
+     */
+    public void saveMappedFile(@NotNull final String fileName, @NotNull final ConfigurationSection section) throws IllegalArgumentException, LoadSaveException {
+        final String mappedFileName = this.getMappedFileName(fileName);
+        MappedDataFile.Builder builder = new MappedDataFile.Builder().putAll(section);
+        this.writeLocked(mappedFileName, () -> {
+            builder.write(new File(subDirectory, mappedFileName).toPath());
+            return null;
+        });
+    }
+
+    /**
+     * Converts a yml file into a memory-mapped data file with the same name ("fileName.mdf").
+     * @param fileName the fileName of the yml file (with or without .yml)
+     * @return the mapped file
+     * @throws IllegalArgumentException if the yml file contains unsupported values
+     * @throws LoadSaveException if the yml file could not be loaded or the mapped file could not be saved
+     * @see DataHandler#saveMappedFile(String, ConfigurationSection)
+     */
+    @NotNull
+    public MappedDataFile convertToMappedFile(@NotNull final String fileName) throws IllegalArgumentException, LoadSaveException {
+        String recordName = this.getRecordName(fileName);
+        this.saveMappedFile(recordName, this.loadVerifiedYmlFile(recordName));
+        return this.openMappedFile(recordName);
+    }
+
+    /**
+     * Opens a memory-mapped data file.
+     * <p>Note: The file stays mapped as long as the returned object is referenced. Replacing the file afterwards does not affect it.
+     * @param fileName the fileName (with or without .mdf)
+     * @return the mapped file
+     * @throws LoadSaveException if the file does not exist or could not be mapped
+     */
+    @NotNull
+    public MappedDataFile openMappedFile(@NotNull final String fileName) throws LoadSaveException {
+        String mappedFileName = this.getMappedFileName(fileName);
+        Path path = new File(subDirectory, mappedFileName).toPath();
+        if (directoryLock == null)
+            return MappedDataFile.open(path);
+
+        try (DataDirectoryLock.Handle ignored = directoryLock.lock(mappedFileName, true)) {
+            return MappedDataFile.open(path);
+        }
+    }
+
+    private String getMappedFileName(final String fileName) {
+        if (!fileName.endsWith(".mdf"))
+            return fileName + ".mdf";
+        return fileName;
+    }
+
+    /**
+     * Saves a UUID map in its binary format ("fileName.bin").
+     * <p>The file is replaced atomically under the file's lock.
+     * @param fileName the fileName (with or without .bin)
+     * @param map the map
+     * @throws LoadSaveException if file could not be saved.
+     * @see DataHandler#loadUUIDMap(String, AbstractUUIDMap)
+     */
+    public void saveUUIDMap(@NotNull final String fileName, @NotNull final AbstractUUIDMap map) throws LoadSaveException {
+        final String binFileName = this.getBinFileName(fileName);
+        this.writeLocked(binFileName, () -> {
+            Path target = new File(subDirectory, binFileName).toPath();
+            Path temp = target.resolveSibling(binFileName + ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    map.writeTo(channel);
+                    channel.force(true);
+                }
+                this.moveAtomically(temp, target);
+            } catch (IOException e) {
+                deleteTemp(temp);
+                throw new LoadSaveException("file " + binFileName + " could not be saved.");
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Loads a UUID map saved by {@link DataHandler#saveUUIDMap(String, AbstractUUIDMap)} into the given map.
+     * <p>Entries are added to the current entries of the map. A non-existent file loads nothing.
+     * @param fileName the fileName (with or without .bin)
+     * @param map the map of the same type as the saved one
+     * @return the amount of loaded entries
+     * @throws LoadSaveException if the file could not be read or holds another type of map
+     */
+    public int loadUUIDMap(@NotNull final String fileName, @NotNull final AbstractUUIDMap map) throws LoadSaveException {
+        String binFileName = this.getBinFileName(fileName);
+        Path path = new File(subDirectory, binFileName).toPath();
+        if (directoryLock == null)
+            return this.readUUIDMap(path, map);
+
+        try (DataDirectoryLock.Handle ignored = directoryLock.lock(binFileName, true)) {
+            return this.readUUIDMap(path, map);
+        }
+    }
+
+    private int readUUIDMap(@NotNull final Path path, @NotNull final AbstractUUIDMap map) throws LoadSaveException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return map.readFrom(channel);
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            throw new LoadSaveException("file " + path.getFileName() + " could not be loaded.");
+        }
+    }
+
+    private String getBinFileName(final String fileName) {
+        if (!fileName.endsWith(".bin"))
+            return fileName + ".bin";
+        return fileName;
+    }
+
+    @Nullable
+    private byte[] readFile(@NotNull final String fileName) throws LoadSaveException {
+        Path path = new File(subDirectory, fileName).toPath();
+        if (directoryLock == null)
+            return this.readBytes(path);
+
+        try (DataDirectoryLock.Handle ignored = directoryLock.lock(fileName, true)) {
+            return this.readBytes(path);
+        }
+    }
+
+    @Nullable
+    private byte[] readBytes(@NotNull final Path path) throws LoadSaveException {
+        try {
+            byte[] data = Files.readAllBytes(path);
+            if (trackAccess)
+                Files.getFileAttributeView(path, BasicFileAttributeView.class).setTimes(null, FileTime.fromMillis(System.currentTimeMillis()), null);
+            return data;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new LoadSaveException("file " + path.getFileName() + " could not be read.");
+        }
+    }
+
+    /**
+     * Exports every file of the subDirectory into a single zip archive.
+     * <p>Files are streamed through a fixed-size buffer, i. e. memory usage does not depend on the amount or size of files.
+     * Each file is read under its lock (shared if process locking is enabled), so concurrent saves never get exported half-written.
+     * @param archive the archive to create or overwrite (should not be within the subDirectory)
+     * @param listener the progress listener (can be null)
+     * @return the amount of exported files
+     * @throws LoadSaveException if the subDirectory could not be read or the archive could not be written
+     * @see DataHandler#exportArchiveAsync(File, DataTransferListener)
+     */
+    public int exportArchive(@NotNull final File archive, @Nullable final DataTransferListener listener) throws LoadSaveException {
+        return DataArchive.export(subDirectory.toPath(), archive.toPath(), this::archiveLocked, listener);
+    }
+
+    /**
+     * Exports every file of the subDirectory into a single zip archive off the main thread.
+     * @param archive the archive to create or overwrite (should not be within the subDirectory)
+     * @param listener the progress listener (can be null), gets executed asynchronously
+     * @return a future completing with the amount of exported files or exceptionally with a LoadSaveException
+     * @see DataHandler#exportArchive(File, DataTransferListener)
+     */
+    @NotNull
+    public CompletableFuture<Integer> exportArchiveAsync(@NotNull final File archive, @Nullable final DataTransferListener listener) {
+        return this.runAsync(() -> this.exportArchive(archive, listener));
+    }
+
+    /**
+     * Imports every file of a zip archive into the subDirectory.
+     * <p>Existing files are replaced atomically and under the same lock as regular saves. Files which are not part of the archive are kept. All indexes get rebuilt afterwards.
+     * @param archive the archive
+     * @param listener the progress listener (can be null)
+     * @return the amount of imported files
+     * @throws LoadSaveException if the archive could not be read, contains illegal entries or a file could not be written
+     * @see DataHandler#importArchiveAsync(File, DataTransferListener)
+     */
+    public int importArchive(@NotNull final File archive, @Nullable final DataTransferListener listener) throws LoadSaveException {
+        int count = DataArchive.importArchive(subDirectory.toPath(), archive.toPath(), this::archiveLocked, listener);
+        for (DataIndex index : indexes.values()) {
+            this.rebuildIndex(index);
+        }
+        return count;
+    }
+
+    /**
+     * Imports every file of a zip archive into the subDirectory off the main thread.
+     * @param archive the archive
+     * @param listener the progress listener (can be null), gets executed asynchronously
+     * @return a future completing with the amount of imported files or exceptionally with a LoadSaveException
+     * @see DataHandler#importArchive(File, DataTransferListener)
+     */
+    @NotNull
+    public CompletableFuture<Integer> importArchiveAsync(@NotNull final File archive, @Nullable final DataTransferListener listener) {
+        return this.runAsync(() -> this.importArchive(archive, listener));
+    }
+
+    private long archiveLocked(@NotNull final String fileName, final boolean shared, @NotNull final DataArchive.FileOperation operation) throws IOException, LoadSaveException {
+        if (directoryLock == null) {
+            ReentrantLock fileLock = this.getFileLock(fileName);
+            fileLock.lock();
+            try {
+                return operation.run();
+            } finally {
+                fileLock.unlock();
+            }
+        }
+
+        try (DataDirectoryLock.Handle handle = directoryLock.lock(fileName, shared)) {
+            long result = operation.run();
+            if (!shared)
+                handle.publishChange();
+            return result;
+        }
+    }
+
+    @NotNull
+    private <T> CompletableFuture<T> runAsync(@NotNull final LoadSaveCallable<T> callable) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                future.complete(callable.call());
+            } catch (LoadSaveException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    @FunctionalInterface
+    private interface LoadSaveCallable<T> {
+        T call() throws LoadSaveException;
     }
 
     /**
@@ -188,12 +1078,14 @@ public class DataHandler {
      * @param path the path
      * @param <T> the type of ConfigurationSerializable
      * @return the requested ConfigurationSerializable
-     * @throws IllegalArgumentException if path is not existent or if path does not contain a valid obj of serializableClass
+     * @throws IllegalArgumentException if the file is corrupted, if path is not existent or if path does not contain a valid obj of serializableClass
      * @see DataHandler#loadConfigurationSerializable(Class, ConfigurationSection, String)
      */
     public <T extends ConfigurationSerializable> T loadConfigurationSerializable(final Class<T> serializableClass, final String fileName, final String path)
         throws IllegalArgumentException {
         YamlConfiguration ymlFile = this.loadYmlFile(fileName);
+        if (ymlFile == null)
+            throw new IllegalArgumentException("file " + fileName + " is corrupted");
         return this.loadConfigurationSerializable(serializableClass, ymlFile, path);
     }
 
@@ -224,11 +1116,13 @@ public class DataHandler {
      * @param serializableClass class extending ConfigurationSerializable
      * @param fileName the fileName (with or without .yml)
      * @param <T> the type of ConfigurationSerializable
-     * @return a list of all available configurationSerializable within the file (not deep)
+     * @return a list of all available configurationSerializable within the file (not deep) or null if the file is corrupted
      * @see DataHandler#loadConfigurationSerializables(Class, ConfigurationSection)
      */
+    @Nullable
     public <T extends ConfigurationSerializable> List<T> loadConfigurationSerializables(final Class<T> serializableClass, final String fileName) {
-        return this.loadConfigurationSerializables(serializableClass, this.loadYmlFile(fileName));
+        YamlConfiguration ymlFile = this.loadYmlFile(fileName);
+        return ymlFile == null ? null : this.loadConfigurationSerializables(serializableClass, ymlFile);
     }
 
     /**
@@ -251,4 +1145,89 @@ public class DataHandler {
         }
         return list;
     }
+
+    /**
+     * Saves ConfigurationSerializables as top-level entries with running numbers as keys.
+     * @param fileName the fileName (with or without .yml)
+     * @param values the values to save
+     * @return the amount of saved values
+     * @throws LoadSaveException if file could not be saved.
+     * @see DataHandler#saveConfigurationSerializables(String, Iterator, Function)
+     */
+    public int saveConfigurationSerializables(final String fileName, @NotNull final Iterator<? extends ConfigurationSerializable> values) throws LoadSaveException {
+        int[] counter = {0};
+        return this.saveConfigurationSerializables(fileName, values, value -> Integer.toString(counter[0]++));
+    }
+
+    /**
+     * Saves ConfigurationSerializables as top-level entries while they are being iterated.
+     * <p>Unlike {@link DataHandler#saveYmlFile(String, YamlConfiguration)} this does not build the file in memory first.
+     * Every value is serialized and written on its own, so memory usage does not depend on the amount of values.
+     * The file can be loaded with {@link DataHandler#loadConfigurationSerializables(Class, String)}.
+     * <p>Note: Keys must be unique. The file is replaced atomically once all values are written.
+     * @param fileName the fileName (with or without .yml)
+     * @param values the values to save
+     * @param keyFunction function to get the key of a value
+     * @param <T> the type of ConfigurationSerializable
+     * @return the amount of saved values
+     * @throws LoadSaveException if file could not be saved.
+     */
+    public <T extends ConfigurationSerializable> int saveConfigurationSerializables(String fileName, @NotNull final Iterator<? extends T> values,
+                                                                                   @NotNull final Function<? super T, String> keyFunction) throws LoadSaveException {
+        final String ymlFileName = this.getYmlFileName(fileName);
+        return this.writeLocked(ymlFileName, () -> {
+            int count = this.streamAtomically(new File(subDirectory, ymlFileName), values, keyFunction);
+            // serialized objects never hold an indexable number
+            for (DataIndex index : indexes.values()) {
+                index.remove(this.getRecordName(ymlFileName));
+            }
+            return count;
+        });
+    }
+
+    private <T> int streamAtomically(@NotNull final File file, @NotNull final Iterator<? extends T> values, @NotNull final Function<? super T, String> keyFunction)
+            throws LoadSaveException {
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(file.getName() + ".tmp");
+        int count = 0;
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                Checksum checksum = null;
+                if (checksums) {
+                    checksum = DataChecksum.create();
+                    this.writeFully(channel, DataChecksum.createHeader(0), 0); // placeholder
+                    channel.position(DataChecksum.HEADER_LENGTH);
+                }
+
+                try (ChannelWriter writer = ChannelWriter.open(channel, checksum)) {
+                    YamlStreamWriter yamlWriter = new YamlStreamWriter(writer);
+                    while (values.hasNext()) {
+                        T value = values.next();
+                        yamlWriter.write(keyFunction.apply(value), value);
+                        count++;
+                    }
+                    yamlWriter.finish();
+                }
+
+                if (checksum != null)
+                    this.writeFully(channel, DataChecksum.createHeader((int) checksum.getValue()), 0);
+                channel.force(true);
+            }
+            this.moveAtomically(temp, target);
+        } catch (IOException | YAMLException e) {
+            deleteTemp(temp);
+            throw new LoadSaveException("file " + file.getName() + " could not be saved.");
+        } catch (RuntimeException e) {
+            // e. g. thrown by keyFunction or serialize()
+            deleteTemp(temp);
+            throw e;
+        }
+        return count;
+    }
+
+    private void writeFully(@NotNull final FileChannel channel, @NotNull final ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
 }
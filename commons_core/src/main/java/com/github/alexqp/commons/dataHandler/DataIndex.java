@@ -0,0 +1,430 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.dataHandler;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * A secondary index over one numeric key of every data file, e. g. "stats.kills" of per-player files.
+ * <p>The index is maintained incrementally by {@link DataHandler} on every save and deletion and is persisted as an append-only log next to the data files.
+ * Top-N and range queries are answered from memory without touching any data file.
+ * <p>Note: Only saves of this process update the index, so indexes cannot be used together with process locking. Files are referred to by their name without ".yml".
+ * A persisted index is only trusted if no data file was modified after the log and every indexed file still exists, otherwise it gets rebuilt.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class DataIndex implements Closeable {
+
+    private static final int MAGIC = 0x44494458; // DIDX
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final int MIN_COMPACTION_SIZE = 1024;
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::getValue).thenComparing(Entry::getName);
+
+    private final String name;
+    private final String path;
+    private final Path logFile;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> sorted = new TreeSet<>(ORDER);
+    private DataOutputStream log;
+    private int logRecords = 0;
+
+    /**
+     * Constructs an index. {@link DataIndex#open()} must be called before usage.
+     * @param directory the data directory
+     * @param name the index name
+     * @param path the indexed path within every data file
+     */
+    DataIndex(@NotNull final Path directory, @NotNull final String name, @NotNull final String path) {
+        this.name = name;
+        this.path = path;
+        this.logFile = getLogFile(directory, name);
+    }
+
+    /**
+     * Gets the file which holds the persisted index.
+     * @param directory the data directory
+     * @param name the index name
+     * @return the log file
+     */
+    static Path getLogFile(@NotNull final Path directory, @NotNull final String name) {
+        return directory.resolve(".index-" + name + ".log");
+    }
+
+    /**
+     * Gets the name.
+     * @return the name
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the indexed path.
+     * @return the path within every data file
+     */
+    @NotNull
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Replays the persisted log.
+     * @return true if the log existed, belongs to this index definition and is up to date, false if the index must be rebuilt
+     * @throws LoadSaveException if the log could not be opened for writing
+     */
+    synchronized boolean open() throws LoadSaveException {
+        boolean valid = false;
+        boolean truncated = false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile)))) {
+            if (in.readInt() == MAGIC && in.readUTF().equals(path)) {
+                valid = true;
+                while (true) {
+                    byte op;
+                    try {
+                        op = in.readByte();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    String fileName = in.readUTF();
+                    if (op == OP_PUT)
+                        this.putEntry(fileName, in.readLong());
+                    else if (op == OP_REMOVE)
+                        this.removeEntry(fileName);
+                    else
+                        throw new IOException("unknown operation");
+                    logRecords++;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            valid = false;
+        } catch (IOException e) {
+            truncated = valid; // keep everything replayed until the damaged tail
+        }
+
+        if (valid)
+            valid = !truncated && this.isUpToDate();
+        if (!valid) {
+            entries.clear();
+            sorted.clear();
+        }
+        if (!valid || truncated || this.needsCompaction()) {
+            this.compact();
+        } else {
+            this.openLog();
+        }
+        return valid;
+    }
+
+    private boolean isUpToDate() {
+        Path directory = logFile.getParent();
+        try {
+            FileTime logTime = Files.getLastModifiedTime(logFile);
+            try (Stream<Path> files = Files.list(directory)) {
+                if (files.anyMatch(file -> file.getFileName().toString().endsWith(".yml") && isNewer(file, logTime)))
+                    return false;
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        for (String fileName : entries.keySet()) {
+            if (!Files.exists(directory.resolve(fileName + ".yml")))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isNewer(@NotNull final Path file, @NotNull final FileTime time) {
+        try {
+            return Files.getLastModifiedTime(file).compareTo(time) > 0;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private void touchLog() {
+        try {
+            Files.setLastModifiedTime(logFile, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {}
+    }
+
+    /**
+     * Updates the entry of a data file.
+     * <p>The entry gets removed if the path does not hold a number.
+     * @param fileName the fileName (without .yml)
+     * @param section the saved data
+     * @throws LoadSaveException if the log could not be written
+     */
+    synchronized void update(@NotNull final String fileName, @NotNull final ConfigurationSection section) throws LoadSaveException {
+        Object value = section.get(path);
+        if (!(value instanceof Number)) {
+            this.remove(fileName);
+            return;
+        }
+
+        long number = ((Number) value).longValue();
+        Entry current = entries.get(fileName);
+        if (current != null && current.value == number) {
+            this.touchLog(); // keeps the log newer than the saved file
+            return;
+        }
+
+        this.putEntry(fileName, number);
+        try {
+            log.writeByte(OP_PUT);
+            log.writeUTF(fileName);
+            log.writeLong(number);
+            log.flush();
+        } catch (IOException e) {
+            throw new LoadSaveException("index " + name + " could not be written.");
+        }
+        this.afterWrite();
+    }
+
+    /**
+     * Removes the entry of a data file.
+     * @param fileName the fileName (without .yml)
+     * @throws LoadSaveException if the log could not be written
+     */
+    synchronized void remove(@NotNull final String fileName) throws LoadSaveException {
+        if (this.removeEntry(fileName) == null) {
+            this.touchLog();
+            return;
+        }
+
+        try {
+            log.writeByte(OP_REMOVE);
+            log.writeUTF(fileName);
+            log.flush();
+        } catch (IOException e) {
+            throw new LoadSaveException("index " + name + " could not be written.");
+        }
+        this.afterWrite();
+    }
+
+    /**
+     * Removes all entries.
+     * @throws LoadSaveException if the log could not be rewritten
+     */
+    synchronized void clear() throws LoadSaveException {
+        entries.clear();
+        sorted.clear();
+        this.compact();
+    }
+
+    private void putEntry(@NotNull final String fileName, final long value) {
+        Entry entry = new Entry(fileName, value);
+        Entry previous = entries.put(fileName, entry);
+        if (previous != null)
+            sorted.remove(previous);
+        sorted.add(entry);
+    }
+
+    private Entry removeEntry(@NotNull final String fileName) {
+        Entry previous = entries.remove(fileName);
+        if (previous != null)
+            sorted.remove(previous);
+        return previous;
+    }
+
+    private void afterWrite() throws LoadSaveException {
+        logRecords++;
+        if (this.needsCompaction())
+            this.compact();
+    }
+
+    private boolean needsCompaction() {
+        return logRecords > Math.max(MIN_COMPACTION_SIZE, 2 * entries.size());
+    }
+
+    private void compact() throws LoadSaveException {
+        this.closeLog();
+        Path temp = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeUTF(path);
+                for (Entry entry : sorted) {
+                    out.writeByte(OP_PUT);
+                    out.writeUTF(entry.name);
+                    out.writeLong(entry.value);
+                }
+            }
+            try {
+                Files.move(temp, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, logFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new LoadSaveException("index " + name + " could not be compacted.");
+        }
+        logRecords = entries.size();
+        this.openLog();
+    }
+
+    private void openLog() throws LoadSaveException {
+        try {
+            log = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(logFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        } catch (IOException e) {
+            throw new LoadSaveException("index " + name + " could not be opened.");
+        }
+    }
+
+    private void closeLog() {
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException ignored) {}
+            log = null;
+        }
+    }
+
+    /**
+     * Closes the log. The index must not be used afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        this.closeLog();
+    }
+
+    /**
+     * Gets the amount of indexed files.
+     * @return the amount of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the indexed value of a data file.
+     * @param fileName the fileName (with or without .yml)
+     * @return the value or empty if the file is not indexed
+     */
+    @NotNull
+    public synchronized OptionalLong get(@NotNull final String fileName) {
+        Entry entry = entries.get(fileName.endsWith(".yml") ? fileName.substring(0, fileName.length() - 4) : fileName);
+        return entry == null ? OptionalLong.empty() : OptionalLong.of(entry.value);
+    }
+
+    /**
+     * Gets the entries with the highest values.
+     * @param n the maximum amount of entries
+     * @return the entries, highest value first
+     */
+    @NotNull
+    public synchronized List<Entry> getTop(final int n) {
+        return this.collect(sorted.descendingIterator(), n);
+    }
+
+    /**
+     * Gets the entries with the lowest values.
+     * @param n the maximum amount of entries
+     * @return the entries, lowest value first
+     */
+    @NotNull
+    public synchronized List<Entry> getBottom(final int n) {
+        return this.collect(sorted.iterator(), n);
+    }
+
+    /**
+     * Gets all entries within a range.
+     * @param min the minimum value (inclusive)
+     * @param max the maximum value (inclusive)
+     * @return the entries, lowest value first
+     */
+    @NotNull
+    public synchronized List<Entry> getRange(final long min, final long max) {
+        if (min > max)
+            return new ArrayList<>();
+        if (max == Long.MAX_VALUE)
+            return new ArrayList<>(sorted.tailSet(new Entry("", min), true));
+        return new ArrayList<>(sorted.subSet(new Entry("", min), true, new Entry("", max + 1), false));
+    }
+
+    @NotNull
+    private List<Entry> collect(@NotNull final Iterator<Entry> iterator, final int n) {
+        List<Entry> list = new ArrayList<>(Math.max(0, Math.min(n, entries.size())));
+        while (list.size() < n && iterator.hasNext()) {
+            list.add(iterator.next());
+        }
+        return list;
+    }
+
+    /**
+     * An indexed value of one data file.
+     */
+    public static final class Entry {
+
+        private final String name;
+        private final long value;
+
+        private Entry(@NotNull final String name, final long value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        /**
+         * Gets the fileName.
+         * @return the fileName (without .yml)
+         */
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the value.
+         * @return the indexed value
+         */
+        public long getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return name + "=" + value;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.dataHandler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Decides when a data file is expired.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ExpiryPolicy {
+
+    /**
+     * The point in time a file's age is measured from.
+     */
+    public enum Basis {
+        /**
+         * The file's last modification.
+         */
+        LAST_WRITE,
+        /**
+         * The file's last access (or modification if later).
+         * <p>Note: Many file systems update access times lazily or not at all, so {@link DataHandler} updates it explicitly on every load while a sweeper with this basis is running.
+         */
+        LAST_ACCESS
+    }
+
+    private final Duration ttl;
+    private final Basis basis;
+
+    private ExpiryPolicy(@NotNull final Duration ttl, @NotNull final Basis basis) throws IllegalArgumentException {
+        Objects.requireNonNull(ttl, "ttl must not be null");
+        if (ttl.isNegative() || ttl.isZero())
+            throw new IllegalArgumentException("ttl must be positive");
+        this.ttl = ttl;
+        this.basis = Objects.requireNonNull(basis, "basis must not be null");
+    }
+
+    /**
+     * Creates a policy which expires files that were not written for the given duration.
+     * @param ttl the time to live
+     * @return the policy
+     * @throws IllegalArgumentException if ttl is not positive
+     */
+    @NotNull
+    public static ExpiryPolicy afterLastWrite(@NotNull final Duration ttl) throws IllegalArgumentException {
+        return new ExpiryPolicy(ttl, Basis.LAST_WRITE);
+    }
+
+    /**
+     * Creates a policy which expires files that were neither loaded nor written for the given duration.
+     * @param ttl the time to live
+     * @return the policy
+     * @throws IllegalArgumentException if ttl is not positive
+     */
+    @NotNull
+    public static ExpiryPolicy afterLastAccess(@NotNull final Duration ttl) throws IllegalArgumentException {
+        return new ExpiryPolicy(ttl, Basis.LAST_ACCESS);
+    }
+
+    /**
+     * Gets the time to live.
+     * @return the time to live
+     */
+    @NotNull
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Gets the basis.
+     * @return the basis
+     */
+    @NotNull
+    public Basis getBasis() {
+        return basis;
+    }
+
+    /**
+     * Checks if a file is expired.
+     * @param attributes the file's attributes
+     * @param now the current time in milliseconds
+     * @return true if the file is expired, false otherwise
+     */
+    public boolean isExpired(@NotNull final BasicFileAttributes attributes, final long now) {
+        long lastUsed = attributes.lastModifiedTime().toMillis();
+        if (basis == Basis.LAST_ACCESS)
+            lastUsed = Math.max(lastUsed, attributes.lastAccessTime().toMillis());
+        return now - lastUsed > ttl.toMillis();
+    }
+}
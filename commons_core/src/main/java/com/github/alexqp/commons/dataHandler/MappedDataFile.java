@@ -0,0 +1,643 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.dataHandler;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read-only data file which is memory-mapped instead of loaded onto the heap.
+ * <p>The file holds the leaf values of a yml tree in an indexed binary format. Lookups do a binary search over the sorted paths and decode only the requested value.
+ * The data itself is held by the OS page cache, so large static tables (e. g. loot tables or name lists) cost almost no heap.
+ * <p>Supported values are Strings, numbers, booleans and lists of Strings or numbers. Files are created once by a {@link MappedDataFile.Builder}.
+ * <p>Note: Instances are safe to use from multiple threads. Paths use '.' as separator.
+ * @see DataHandler#saveMappedFile(String, ConfigurationSection)
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class MappedDataFile {
+
+    private static final int MAGIC = 0x4D444631; // MDF1
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int INDEX_ENTRY_SIZE = 2 * Integer.BYTES;
+
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_DOUBLE = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_STRING_LIST = 5;
+    private static final byte TYPE_LONG_LIST = 6;
+    private static final byte TYPE_DOUBLE_LIST = 7;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+
+    private MappedDataFile(@NotNull final MappedByteBuffer buffer, final int count) {
+        this.buffer = buffer;
+        this.count = count;
+    }
+
+    /**
+     * Maps a file into memory.
+     * @param file the file
+     * @return the mapped file
+     * @throws LoadSaveException if the file does not exist, could not be mapped or is no valid mapped data file
+     */
+    @NotNull
+    public static MappedDataFile open(@NotNull final Path file) throws LoadSaveException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new LoadSaveException("file " + file.getFileName() + " is too large to be mapped.");
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            throw new LoadSaveException("file " + file.getFileName() + " does not exist.");
+        } catch (IOException e) {
+            throw new LoadSaveException("file " + file.getFileName() + " could not be mapped.");
+        }
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+            throw new LoadSaveException("file " + file.getFileName() + " is no mapped data file.");
+        int count = buffer.getInt(Integer.BYTES);
+        if (count < 0 || HEADER_SIZE + (long) count * INDEX_ENTRY_SIZE > buffer.limit())
+            throw new LoadSaveException("file " + file.getFileName() + " is corrupted.");
+        return new MappedDataFile(buffer, count);
+    }
+
+    /**
+     * Gets the amount of stored values.
+     * @return the amount of values
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets all stored paths.
+     * @return the paths in binary order
+     */
+    @NotNull
+    public List<String> getKeys() {
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(this.getKey(i));
+        }
+        return keys;
+    }
+
+    /**
+     * Gets all stored paths within a section.
+     * @param sectionPath the path of the section, e. g. "loot.common"
+     * @return the full paths of all values below the section in binary order
+     */
+    @NotNull
+    public List<String> getKeys(@NotNull final String sectionPath) {
+        byte[] prefix = (sectionPath + ".").getBytes(StandardCharsets.UTF_8);
+        int index = this.find(prefix);
+        if (index < 0)
+            index = -index - 1;
+
+        List<String> keys = new ArrayList<>();
+        for (; index < count && this.startsWith(index, prefix); index++) {
+            keys.add(this.getKey(index));
+        }
+        return keys;
+    }
+
+    /**
+     * Checks if a value is stored for the path.
+     * @param path the path
+     * @return true if a value exists, false otherwise
+     */
+    public boolean contains(@NotNull final String path) {
+        return this.find(path) >= 0;
+    }
+
+    /**
+     * Checks if the path holds a String.
+     * @param path the path
+     * @return true if the path holds a String, false otherwise
+     */
+    public boolean isString(@NotNull final String path) {
+        return this.getType(path) == TYPE_STRING;
+    }
+
+    /**
+     * Checks if the path holds an integral number.
+     * @param path the path
+     * @return true if the path holds an integral number, false otherwise
+     */
+    public boolean isLong(@NotNull final String path) {
+        return this.getType(path) == TYPE_LONG;
+    }
+
+    /**
+     * Checks if the path holds a floating point number.
+     * @param path the path
+     * @return true if the path holds a floating point number, false otherwise
+     */
+    public boolean isDouble(@NotNull final String path) {
+        return this.getType(path) == TYPE_DOUBLE;
+    }
+
+    /**
+     * Checks if the path holds a boolean.
+     * @param path the path
+     * @return true if the path holds a boolean, false otherwise
+     */
+    public boolean isBoolean(@NotNull final String path) {
+        return this.getType(path) == TYPE_BOOLEAN;
+    }
+
+    /**
+     * Checks if the path holds a list.
+     * @param path the path
+     * @return true if the path holds a list, false otherwise
+     */
+    public boolean isList(@NotNull final String path) {
+        byte type = this.getType(path);
+        return type == TYPE_STRING_LIST || type == TYPE_LONG_LIST || type == TYPE_DOUBLE_LIST;
+    }
+
+    /**
+     * Gets a String.
+     * @see MappedDataFile#getString(String, String)
+     */
+    @Nullable
+    public String getString(@NotNull final String path) {
+        return this.getString(path, null);
+    }
+
+    /**
+     * Gets a value as String.
+     * <p>Numbers and booleans are converted like Bukkit does.
+     * @param path the path
+     * @param def the default value
+     * @return the value or def if there is no scalar value
+     */
+    public String getString(@NotNull final String path, final String def) {
+        int offset = this.findValue(path);
+        if (offset < 0)
+            return def;
+
+        switch (buffer.get(offset)) {
+            case TYPE_STRING:
+                return this.readString(offset + 1);
+            case TYPE_LONG:
+                return Long.toString(buffer.getLong(offset + 1));
+            case TYPE_DOUBLE:
+                return Double.toString(buffer.getDouble(offset + 1));
+            case TYPE_BOOLEAN:
+                return Boolean.toString(buffer.get(offset + 1) != 0);
+            default:
+                return def;
+        }
+    }
+
+    /**
+     * Gets an int.
+     * @see MappedDataFile#getInt(String, int)
+     */
+    public int getInt(@NotNull final String path) {
+        return this.getInt(path, 0);
+    }
+
+    /**
+     * Gets a number as int.
+     * @param path the path
+     * @param def the default value
+     * @return the value or def if there is no number
+     */
+    public int getInt(@NotNull final String path, final int def) {
+        return (int) this.getLong(path, def);
+    }
+
+    /**
+     * Gets a long.
+     * @see MappedDataFile#getLong(String, long)
+     */
+    public long getLong(@NotNull final String path) {
+        return this.getLong(path, 0);
+    }
+
+    /**
+     * Gets a number as long.
+     * @param path the path
+     * @param def the default value
+     * @return the value or def if there is no number
+     */
+    public long getLong(@NotNull final String path, final long def) {
+        int offset = this.findValue(path);
+        if (offset < 0)
+            return def;
+
+        byte type = buffer.get(offset);
+        if (type == TYPE_LONG)
+            return buffer.getLong(offset + 1);
+        if (type == TYPE_DOUBLE)
+            return (long) buffer.getDouble(offset + 1);
+        return def;
+    }
+
+    /**
+     * Gets a double.
+     * @see MappedDataFile#getDouble(String, double)
+     */
+    public double getDouble(@NotNull final String path) {
+        return this.getDouble(path, 0);
+    }
+
+    /**
+     * Gets a number as double.
+     * @param path the path
+     * @param def the default value
+     * @return the value or def if there is no number
+     */
+    public double getDouble(@NotNull final String path, final double def) {
+        int offset = this.findValue(path);
+        if (offset < 0)
+            return def;
+
+        byte type = buffer.get(offset);
+        if (type == TYPE_DOUBLE)
+            return buffer.getDouble(offset + 1);
+        if (type == TYPE_LONG)
+            return buffer.getLong(offset + 1);
+        return def;
+    }
+
+    /**
+     * Gets a boolean.
+     * @see MappedDataFile#getBoolean(String, boolean)
+     */
+    public boolean getBoolean(@NotNull final String path) {
+        return this.getBoolean(path, false);
+    }
+
+    /**
+     * Gets a boolean.
+     * @param path the path
+     * @param def the default value
+     * @return the value or def if there is no boolean
+     */
+    public boolean getBoolean(@NotNull final String path, final boolean def) {
+        int offset = this.findValue(path);
+        if (offset < 0 || buffer.get(offset) != TYPE_BOOLEAN)
+            return def;
+        return buffer.get(offset + 1) != 0;
+    }
+
+    /**
+     * Gets a list as Strings.
+     * <p>Lists of numbers are converted like Bukkit does.
+     * @param path the path
+     * @return the list or an empty list if there is no list
+     */
+    @NotNull
+    public List<String> getStringList(@NotNull final String path) {
+        int offset = this.findValue(path);
+        if (offset < 0)
+            return Collections.emptyList();
+
+        byte type = buffer.get(offset);
+        int size = buffer.getInt(offset + 1);
+        int position = offset + 1 + Integer.BYTES;
+        List<String> list = new ArrayList<>(size);
+        switch (type) {
+            case TYPE_STRING_LIST:
+                for (int i = 0; i < size; i++) {
+                    list.add(this.readString(position));
+                    position += Integer.BYTES + buffer.getInt(position);
+                }
+                return list;
+            case TYPE_LONG_LIST:
+                for (int i = 0; i < size; i++) {
+                    list.add(Long.toString(buffer.getLong(position + i * Long.BYTES)));
+                }
+                return list;
+            case TYPE_DOUBLE_LIST:
+                for (int i = 0; i < size; i++) {
+                    list.add(Double.toString(buffer.getDouble(position + i * Double.BYTES)));
+                }
+                return list;
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Gets a list of numbers as long array.
+     * @param path the path
+     * @return the values or an empty array if there is no list of numbers
+     */
+    public long[] getLongList(@NotNull final String path) {
+        int offset = this.findValue(path);
+        if (offset < 0)
+            return new long[0];
+
+        byte type = buffer.get(offset);
+        if (type != TYPE_LONG_LIST && type != TYPE_DOUBLE_LIST)
+            return new long[0];
+
+        int position = offset + 1 + Integer.BYTES;
+        long[] values = new long[buffer.getInt(offset + 1)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = type == TYPE_LONG_LIST ? buffer.getLong(position + i * Long.BYTES) : (long) buffer.getDouble(position + i * Double.BYTES);
+        }
+        return values;
+    }
+
+    /**
+     * Gets a list of numbers as double array.
+     * @param path the path
+     * @return the values or an empty array if there is no list of numbers
+     */
+    public double[] getDoubleList(@NotNull final String path) {
+        int offset = this.findValue(path);
+        if (offset < 0)
+            return new double[0];
+
+        byte type = buffer.get(offset);
+        if (type != TYPE_LONG_LIST && type != TYPE_DOUBLE_LIST)
+            return new double[0];
+
+        int position = offset + 1 + Integer.BYTES;
+        double[] values = new double[buffer.getInt(offset + 1)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = type == TYPE_DOUBLE_LIST ? buffer.getDouble(position + i * Double.BYTES) : buffer.getLong(position + i * Long.BYTES);
+        }
+        return values;
+    }
+
+    // =================================================================
+    // LOOKUP
+    // =================================================================
+
+    private byte getType(@NotNull final String path) {
+        int offset = this.findValue(path);
+        return offset < 0 ? 0 : buffer.get(offset);
+    }
+
+    private int findValue(@NotNull final String path) {
+        int index = this.find(path);
+        return index < 0 ? -1 : buffer.getInt(HEADER_SIZE + index * INDEX_ENTRY_SIZE + Integer.BYTES);
+    }
+
+    private int find(@NotNull final String path) {
+        return this.find(path.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // binary search, returns -(insertion point) - 1 if not found
+    private int find(final byte[] key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = this.compareKey(mid, key);
+            if (cmp < 0)
+                low = mid + 1;
+            else if (cmp > 0)
+                high = mid - 1;
+            else
+                return mid;
+        }
+        return -(low + 1);
+    }
+
+    private int compareKey(final int index, final byte[] key) {
+        int offset = this.getKeyOffset(index);
+        int length = buffer.getShort(offset) & 0xFFFF;
+        int n = Math.min(length, key.length);
+        for (int i = 0; i < n; i++) {
+            int cmp = (buffer.get(offset + Short.BYTES + i) & 0xFF) - (key[i] & 0xFF);
+            if (cmp != 0)
+                return cmp;
+        }
+        return length - key.length;
+    }
+
+    private boolean startsWith(final int index, final byte[] prefix) {
+        int offset = this.getKeyOffset(index);
+        if ((buffer.getShort(offset) & 0xFFFF) < prefix.length)
+            return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(offset + Short.BYTES + i) != prefix[i])
+                return false;
+        }
+        return true;
+    }
+
+    private int getKeyOffset(final int index) {
+        return buffer.getInt(HEADER_SIZE + index * INDEX_ENTRY_SIZE);
+    }
+
+    @NotNull
+    private String getKey(final int index) {
+        int offset = this.getKeyOffset(index);
+        byte[] bytes = new byte[buffer.getShort(offset) & 0xFFFF];
+        buffer.get(offset + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @NotNull
+    private String readString(final int offset) {
+        byte[] bytes = new byte[buffer.getInt(offset)];
+        buffer.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Collects values and writes them as mapped data file.
+     */
+    public static final class Builder {
+
+        private final Map<String, Object> values = new HashMap<>();
+
+        /**
+         * Adds a value.
+         * @param path the path
+         * @param value a String, Number, Boolean or a list of Strings or Numbers
+         * @return the builder
+         * @throws IllegalArgumentException if the value is not supported or the path is longer than 65535 bytes
+         */
+        @NotNull
+        public Builder put(@NotNull final String path, @NotNull final Object value) throws IllegalArgumentException {
+            if (path.getBytes(StandardCharsets.UTF_8).length > 0xFFFF)
+                throw new IllegalArgumentException("path " + path + " is too long");
+            if (!(value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof List))
+                throw new IllegalArgumentException("unsupported value at " + path + ": " + value.getClass().getName());
+            if (value instanceof List) {
+                for (Object item : (List<?>) value) {
+                    if (!(item instanceof String || item instanceof Number))
+                        throw new IllegalArgumentException("unsupported list item at " + path + ": " + item);
+                }
+                values.put(path, new ArrayList<>((List<?>) value));
+            } else {
+                values.put(path, value);
+            }
+            return this;
+        }
+
+        /**
+         * Adds all values of a section (deep).
+         * @param section the section
+         * @return the builder
+         * @throws IllegalArgumentException if the section contains unsupported values
+         */
+        @NotNull
+        public Builder putAll(@NotNull final ConfigurationSection section) throws IllegalArgumentException {
+            for (Map.Entry<String, Object> entry : section.getValues(true).entrySet()) {
+                if (!(entry.getValue() instanceof ConfigurationSection))
+                    this.put(entry.getKey(), entry.getValue());
+            }
+            return this;
+        }
+
+        /**
+         * Gets the amount of added values.
+         * @return the amount of values
+         */
+        public int size() {
+            return values.size();
+        }
+
+        /**
+         * Writes the file, replacing an existing one atomically.
+         * @param file the file
+         * @throws LoadSaveException if the file could not be written
+         */
+        public void write(@NotNull final Path file) throws LoadSaveException {
+            List<Map.Entry<byte[], Object>> entries = new ArrayList<>(values.size());
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey().getBytes(StandardCharsets.UTF_8), entry.getValue()));
+            }
+            entries.sort((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()));
+
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                ByteArrayOutputStream keyBytes = new ByteArrayOutputStream();
+                ByteArrayOutputStream valueBytes = new ByteArrayOutputStream();
+                DataOutputStream keyOut = new DataOutputStream(keyBytes);
+                DataOutputStream valueOut = new DataOutputStream(valueBytes);
+                int[] keyOffsets = new int[entries.size()];
+                int[] valueOffsets = new int[entries.size()];
+                for (int i = 0; i < entries.size(); i++) {
+                    byte[] key = entries.get(i).getKey();
+                    keyOffsets[i] = keyOut.size();
+                    keyOut.writeShort(key.length);
+                    keyOut.write(key);
+                    valueOffsets[i] = valueOut.size();
+                    writeValue(valueOut, entries.get(i).getValue());
+                }
+
+                long keysStart = HEADER_SIZE + (long) entries.size() * INDEX_ENTRY_SIZE;
+                long valuesStart = keysStart + keyOut.size();
+                if (valuesStart + valueOut.size() > Integer.MAX_VALUE)
+                    throw new LoadSaveException("file " + file.getFileName() + " would be too large to be mapped.");
+
+                ByteBuffer header = ByteBuffer.allocate((int) keysStart);
+                header.putInt(MAGIC).putInt(entries.size());
+                for (int i = 0; i < entries.size(); i++) {
+                    header.putInt((int) keysStart + keyOffsets[i]).putInt((int) valuesStart + valueOffsets[i]);
+                }
+                header.flip();
+
+                ByteBuffer[] buffers = {header, ByteBuffer.wrap(keyBytes.toByteArray()), ByteBuffer.wrap(valueBytes.toByteArray())};
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    while (buffers[2].hasRemaining()) {
+                        channel.write(buffers);
+                    }
+                    channel.force(true);
+                }
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {}
+                throw new LoadSaveException("file " + file.getFileName() + " could not be saved.");
+            }
+        }
+
+        private static void writeValue(@NotNull final DataOutputStream out, @NotNull final Object value) throws IOException {
+            if (value instanceof String) {
+                out.writeByte(TYPE_STRING);
+                writeString(out, (String) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Number) {
+                if (isIntegral(value)) {
+                    out.writeByte(TYPE_LONG);
+                    out.writeLong(((Number) value).longValue());
+                } else {
+                    out.writeByte(TYPE_DOUBLE);
+                    out.writeDouble(((Number) value).doubleValue());
+                }
+            } else {
+                List<?> list = (List<?>) value;
+                boolean strings = list.stream().anyMatch(item -> item instanceof String);
+                boolean integral = list.stream().allMatch(MappedDataFile.Builder::isIntegral);
+                out.writeByte(strings ? TYPE_STRING_LIST : integral ? TYPE_LONG_LIST : TYPE_DOUBLE_LIST);
+                out.writeInt(list.size());
+                for (Object item : list) {
+                    if (strings)
+                        writeString(out, item.toString());
+                    else if (integral)
+                        out.writeLong(((Number) item).longValue());
+                    else
+                        out.writeDouble(((Number) item).doubleValue());
+                }
+            }
+        }
+
+        private static boolean isIntegral(final Object value) {
+            return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+        }
+
+        private static void writeString(@NotNull final DataOutputStream out, @NotNull final String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.alexqp.commons.dataHandler;
+
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.configuration.MemorySection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An unmodifiable copy of a section, used as defaults which are shared by many loaded files.
+ * <p>Every section of the copy rejects modifications with an {@link UnsupportedOperationException}, lists are copied as unmodifiable lists.
+ */
+final class ReadOnlyConfiguration extends MemoryConfiguration {
+
+    private boolean sealed = false;
+
+    /**
+     * Copies a section.
+     * @param source the section to copy (defaults of source are not copied)
+     * @param excluded full paths which are left out including their children
+     */
+    ReadOnlyConfiguration(@NotNull final ConfigurationSection source, @NotNull final Set<String> excluded) {
+        copy(source, this, "", excluded);
+        this.sealed = true;
+    }
+
+    private static void copy(@NotNull final ConfigurationSection source, @NotNull final MemorySection target, @NotNull final String prefix,
+                             @NotNull final Set<String> excluded) {
+        for (String key : source.getKeys(false)) {
+            String path = prefix + key;
+            if (excluded.contains(path))
+                continue;
+
+            Object value = source.get(key);
+            if (value instanceof ConfigurationSection) {
+                Section section = new Section(target, key);
+                copy((ConfigurationSection) value, section, path + ".", excluded);
+                value = section;
+            } else if (value instanceof List) {
+                value = Collections.unmodifiableList(new ArrayList<>((List<?>) value));
+            }
+            target.set(key, value);
+        }
+    }
+
+    private void checkModifiable() throws UnsupportedOperationException {
+        if (sealed)
+            throw new UnsupportedOperationException("shared defaults cannot be modified");
+    }
+
+    @Override
+    public void set(@NotNull final String path, @Nullable final Object value) {
+        this.checkModifiable();
+        super.set(path, value);
+    }
+
+    @Override
+    @NotNull
+    public ConfigurationSection createSection(@NotNull final String path) {
+        this.checkModifiable();
+        return super.createSection(path);
+    }
+
+    @Override
+    @NotNull
+    public ConfigurationSection createSection(@NotNull final String path, @NotNull final Map<?, ?> map) {
+        this.checkModifiable();
+        return super.createSection(path, map);
+    }
+
+    @Override
+    public void addDefault(@NotNull final String path, @Nullable final Object value) {
+        this.checkModifiable();
+        super.addDefault(path, value);
+    }
+
+    @Override
+    public void addDefaults(@NotNull final Map<String, Object> defaults) {
+        this.checkModifiable();
+        super.addDefaults(defaults);
+    }
+
+    @Override
+    public void addDefaults(@NotNull final Configuration defaults) {
+        this.checkModifiable();
+        super.addDefaults(defaults);
+    }
+
+    @Override
+    public void setDefaults(@NotNull final Configuration defaults) {
+        this.checkModifiable();
+        super.setDefaults(defaults);
+    }
+
+    @Override
+    public void setComments(@NotNull final String path, @Nullable final List<String> comments) {
+        this.checkModifiable();
+        super.setComments(path, comments);
+    }
+
+    @Override
+    public void setInlineComments(@NotNull final String path, @Nullable final List<String> comments) {
+        this.checkModifiable();
+        super.setInlineComments(path, comments);
+    }
+
+    private static final class Section extends MemorySection {
+
+        private Section(@NotNull final ConfigurationSection parent, @NotNull final String path) {
+            super(parent, path);
+        }
+
+        private void checkModifiable() throws UnsupportedOperationException {
+            Configuration root = this.getRoot();
+            if (root instanceof ReadOnlyConfiguration)
+                ((ReadOnlyConfiguration) root).checkModifiable();
+        }
+
+        @Override
+        public void set(@NotNull final String path, @Nullable final Object value) {
+            this.checkModifiable();
+            super.set(path, value);
+        }
+
+        @Override
+        @NotNull
+        public ConfigurationSection createSection(@NotNull final String path) {
+            this.checkModifiable();
+            return super.createSection(path);
+        }
+
+        @Override
+        @NotNull
+        public ConfigurationSection createSection(@NotNull final String path, @NotNull final Map<?, ?> map) {
+            this.checkModifiable();
+            return super.createSection(path, map);
+        }
+
+        @Override
+        public void addDefault(@NotNull final String path, @Nullable final Object value) {
+            this.checkModifiable();
+            super.addDefault(path, value);
+        }
+
+        @Override
+        public void setComments(@NotNull final String path, @Nullable final List<String> comments) {
+            this.checkModifiable();
+            super.setComments(path, comments);
+        }
+
+        @Override
+        public void setInlineComments(@NotNull final String path, @Nullable final List<String> comments) {
+            this.checkModifiable();
+            super.setInlineComments(path, comments);
+        }
+    }
+}
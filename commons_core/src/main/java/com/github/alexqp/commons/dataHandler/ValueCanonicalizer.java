@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.dataHandler;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deduplicates equal loaded values through a weak canonical map.
+ * <p>Bulk-loaded data usually contains many equal Strings, numbers and small value objects. Replacing them by one canonical instance each reduces retained heap.
+ * Canonical instances are held weakly, so they are released once no loaded data refers to them.
+ * <p>Only values of registered classes are canonicalized (exact class, not subclasses). Strings and boxed numbers are registered by default.
+ * Lists and maps are never canonicalized themselves, but their elements are replaced in place.
+ * <p>Note: Only register classes whose instances are never modified after loading. Canonical instances are shared between all loaded files.
+ * @see DataHandler#setCanonicalizer(ValueCanonicalizer)
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ValueCanonicalizer {
+
+    private final Interner<Object> interner = Interners.newWeakInterner();
+    private final Set<Class<?>> types = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a canonicalizer for Strings and boxed numbers.
+     */
+    public ValueCanonicalizer() {
+        types.add(String.class);
+        types.add(Integer.class);
+        types.add(Long.class);
+        types.add(Double.class);
+        types.add(Float.class);
+        types.add(Short.class);
+        types.add(Byte.class);
+    }
+
+    /**
+     * Registers an immutable class. Its instances must implement equals and hashCode.
+     * <p>Note: Mutable classes like {@link org.bukkit.util.Vector} must only be registered if loaded instances are never modified (e. g. always cloned before).
+     * Otherwise modifying one loaded instance modifies all equal ones.
+     * @param type the class
+     * @return the canonicalizer
+     */
+    @NotNull
+    public ValueCanonicalizer register(@NotNull final Class<?> type) {
+        types.add(type);
+        return this;
+    }
+
+    /**
+     * Checks if a class is registered.
+     * @param type the class
+     * @return true if instances get canonicalized, false otherwise
+     */
+    public boolean isRegistered(@NotNull final Class<?> type) {
+        return types.contains(type);
+    }
+
+    /**
+     * Gets the canonical instance of a value.
+     * <p>Elements of lists and values of maps are replaced by their canonical instances in place (if the list or map is modifiable).
+     * @param value the value
+     * @return the canonical instance, value itself if its class is not registered
+     */
+    @Nullable
+    public Object canonicalize(@Nullable final Object value) {
+        if (value == null)
+            return null;
+        if (types.contains(value.getClass()))
+            return interner.intern(value);
+
+        try {
+            if (value instanceof List) {
+                ListIterator<Object> iterator = this.<List<Object>>cast(value).listIterator();
+                while (iterator.hasNext()) {
+                    Object item = iterator.next();
+                    Object canonical = this.canonicalize(item);
+                    if (canonical != item)
+                        iterator.set(canonical);
+                }
+            } else if (value instanceof Map) {
+                for (Map.Entry<Object, Object> entry : this.<Map<Object, Object>>cast(value).entrySet()) {
+                    Object canonical = this.canonicalize(entry.getValue());
+                    if (canonical != entry.getValue())
+                        entry.setValue(canonical);
+                }
+            }
+        } catch (UnsupportedOperationException ignored) {}
+        return value;
+    }
+
+    /**
+     * Replaces all values within a section (deep) by their canonical instances.
+     * @param section the section
+     */
+    public void canonicalizeAll(@NotNull final ConfigurationSection section) {
+        for (String key : section.getKeys(false)) {
+            Object value = section.get(key);
+            if (value instanceof ConfigurationSection) {
+                this.canonicalizeAll((ConfigurationSection) value);
+            } else {
+                Object canonical = this.canonicalize(value);
+                if (canonical != value)
+                    section.set(key, canonical);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cast(@NotNull final Object value) {
+        return (T) value;
+    }
+}
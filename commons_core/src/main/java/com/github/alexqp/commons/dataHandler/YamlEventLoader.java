@@ -0,0 +1,443 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.dataHandler;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.comments.CommentType;
+import org.yaml.snakeyaml.constructor.Construct;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.CommentEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the section tree of a {@link YamlConfiguration} directly from SnakeYAML parser events.
+ * <p>{@link YamlConfiguration#loadFromString(String)} needs the whole file as String, composes a node tree, constructs nested maps and copies them into sections.
+ * This loader skips the node tree and the maps by creating sections while parsing. Scalars are resolved and constructed exactly like SnakeYAML does, maps with a "==" key are deserialized like Bukkit does.
+ * <p>Documents using aliases, complex keys or explicit collection tags are not supported. {@link YamlEventLoader#load(Reader, YamlConfiguration, ValueCanonicalizer)} returns false for those and callers have to fall back to Bukkit's loader.
+ */
+final class YamlEventLoader {
+
+    private static final String SERIALIZED_TYPE_KEY = ConfigurationSerialization.SERIALIZED_TYPE_KEY;
+    private static final Resolver RESOLVER = new Resolver();
+
+    private final YamlConfiguration config;
+    private final boolean parseComments;
+    private final ScalarConstructor constructor;
+    private final @Nullable ValueCanonicalizer canonicalizer;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final List<String> pendingComments = new ArrayList<>();
+    private boolean blankLineSeen = false;
+    private boolean firstKey = true;
+
+    private YamlEventLoader(@NotNull final YamlConfiguration config, @NotNull final LoaderOptions loaderOptions, @Nullable final ValueCanonicalizer canonicalizer) {
+        this.config = config;
+        this.canonicalizer = canonicalizer;
+        this.parseComments = loaderOptions.isProcessComments();
+        this.constructor = new ScalarConstructor(loaderOptions);
+    }
+
+    /**
+     * Loads yml into a configuration, replacing its current content.
+     * @param reader the reader
+     * @param config the configuration
+     * @param canonicalizer the canonicalizer for scalars and deserialized objects or null
+     * @return true if the document was loaded, false if it uses unsupported features (the configuration is then left empty)
+     * @throws InvalidConfigurationException if the yml is invalid
+     */
+    static boolean load(@NotNull final Reader reader, @NotNull final YamlConfiguration config, @Nullable final ValueCanonicalizer canonicalizer)
+            throws InvalidConfigurationException {
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setCodePointLimit(Integer.MAX_VALUE);
+        loaderOptions.setNestingDepthLimit(100);
+        loaderOptions.setProcessComments(config.options().parseComments());
+
+        for (String key : config.getKeys(false)) {
+            config.set(key, null);
+        }
+
+        YamlEventLoader loader = new YamlEventLoader(config, loaderOptions, canonicalizer);
+        try {
+            if (loader.parse(new ParserImpl(new StreamReader(reader), loaderOptions)))
+                return true;
+        } catch (YAMLException | ClassCastException | IllegalArgumentException e) {
+            throw new InvalidConfigurationException(e);
+        }
+
+        for (String key : config.getKeys(false)) {
+            config.set(key, null);
+        }
+        return false;
+    }
+
+    private boolean parse(@NotNull final Parser parser) throws InvalidConfigurationException {
+        boolean rootDone = false;
+        while (!rootDone) {
+            Event event = parser.getEvent();
+            switch (event.getEventId()) {
+                case StreamEnd:
+                    rootDone = true;
+                    break;
+                case StreamStart:
+                case DocumentStart:
+                    break;
+                case DocumentEnd:
+                    rootDone = true;
+                    break;
+                case Comment:
+                    this.comment((CommentEvent) event);
+                    break;
+                case Alias:
+                    return false;
+                case MappingStart:
+                    if (!isPlainCollection((CollectionStartEvent) event, Tag.MAP))
+                        return false;
+                    if (!this.startMapping())
+                        return false;
+                    break;
+                case MappingEnd:
+                    this.endMapping();
+                    break;
+                case SequenceStart:
+                    if (!isPlainCollection((CollectionStartEvent) event, Tag.SEQ))
+                        return false;
+                    if (frames.isEmpty())
+                        throw new InvalidConfigurationException("top level is not a Map.");
+                    if (frames.peek().list == null && !frames.peek().hasKey)
+                        return false; // complex key
+                    frames.push(Frame.list());
+                    break;
+                case SequenceEnd:
+                    this.deliver(frames.pop().list);
+                    break;
+                case Scalar:
+                    if (!this.scalar((ScalarEvent) event))
+                        return false;
+                    break;
+            }
+        }
+        if (parseComments && !pendingComments.isEmpty())
+            config.options().setFooter(new ArrayList<>(pendingComments));
+        return true;
+    }
+
+    private static boolean isPlainCollection(@NotNull final CollectionStartEvent event, @NotNull final Tag tag) {
+        String explicitTag = event.getTag();
+        return explicitTag == null || explicitTag.equals("!") || explicitTag.equals(tag.getValue());
+    }
+
+    // =================================================================
+    // EVENTS
+    // =================================================================
+
+    private void comment(@NotNull final CommentEvent event) {
+        if (!parseComments)
+            return;
+
+        if (event.getCommentType() == CommentType.IN_LINE) {
+            Frame frame = frames.peek();
+            if (frame != null && frame.section != null && frame.lastKey != null)
+                frame.section.setInlineComments(frame.lastKey, List.of(trimComment(event.getValue())));
+            return;
+        }
+
+        if (event.getCommentType() == CommentType.BLANK_LINE) {
+            if (firstKey && !blankLineSeen && frames.size() <= 1) {
+                // like Bukkit: everything up to the first blank line before the first key is the header
+                blankLineSeen = true;
+                config.options().setHeader(new ArrayList<>(pendingComments));
+                pendingComments.clear();
+                return;
+            }
+            pendingComments.add(null);
+        } else {
+            pendingComments.add(trimComment(event.getValue()));
+        }
+    }
+
+    @NotNull
+    private static String trimComment(@NotNull final String comment) {
+        return comment.startsWith(" ") ? comment.substring(1) : comment;
+    }
+
+    private boolean startMapping() throws InvalidConfigurationException {
+        Frame parent = frames.peek();
+        if (parent == null) {
+            frames.push(Frame.section(config, null));
+            return true;
+        }
+
+        if (parent.section != null) {
+            if (!parent.hasKey)
+                return false; // complex key
+            String key = (String) parent.key;
+            parent.key = null;
+            parent.hasKey = false;
+            frames.push(Frame.section(parent.section.createSection(key), key));
+        } else if (parent.map != null && !parent.hasKey) {
+            return false; // complex key
+        } else {
+            frames.push(Frame.map());
+        }
+        return true;
+    }
+
+    private void endMapping() throws InvalidConfigurationException {
+        Frame frame = frames.pop();
+        if (frame.map == null)
+            return; // sections are already attached to their parent
+
+        Object value = frame.map;
+        if (frame.map.containsKey(SERIALIZED_TYPE_KEY)) {
+            value = deserialize(frame.map);
+            if (canonicalizer != null)
+                value = canonicalizer.canonicalize(value);
+        }
+
+        Frame parent = frames.peek();
+        if (parent != null && parent.section != null && frame.sectionKey != null) {
+            parent.section.set(frame.sectionKey, value);
+            parent.lastKey = frame.sectionKey;
+        } else {
+            this.deliver(value);
+        }
+    }
+
+    @NotNull
+    private static Object deserialize(@NotNull final Map<Object, Object> raw) throws InvalidConfigurationException {
+        Map<String, Object> typed = new LinkedHashMap<>(raw.size());
+        for (Map.Entry<Object, Object> entry : raw.entrySet()) {
+            typed.put(entry.getKey().toString(), entry.getValue());
+        }
+        try {
+            return ConfigurationSerialization.deserializeObject(typed);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidConfigurationException("Could not deserialize object", e);
+        }
+    }
+
+    private boolean scalar(@NotNull final ScalarEvent event) throws InvalidConfigurationException {
+        Object value = constructor.construct(event);
+        if (value == ScalarConstructor.UNSUPPORTED)
+            return false;
+        if (canonicalizer != null)
+            value = canonicalizer.canonicalize(value);
+
+        Frame frame = frames.peek();
+        if (frame == null)
+            throw new InvalidConfigurationException("top level is not a Map.");
+
+        if (frame.list == null && !frame.hasKey) {
+            this.key(frame, value);
+            return true;
+        }
+        this.deliver(value);
+        return true;
+    }
+
+    private void key(@NotNull final Frame frame, @Nullable final Object value) {
+        if (frame.section == null) {
+            frame.key = value;
+            frame.hasKey = true;
+            return;
+        }
+
+        String key = String.valueOf(value);
+        if (key.equals(SERIALIZED_TYPE_KEY) && frame.sectionKey != null) {
+            // the section turns out to be a serialized object, collect it as map instead (keeping the keys parsed so far)
+            Frame parent = this.getParent(frame);
+            frames.pop();
+            Frame map = Frame.map();
+            map.map.putAll(toMap(frame.section));
+            parent.section.set(frame.sectionKey, null);
+            map.sectionKey = frame.sectionKey;
+            map.key = key;
+            map.hasKey = true;
+            frames.push(map);
+            pendingComments.clear();
+            return;
+        }
+
+        frame.key = key;
+        frame.hasKey = true;
+        if (parseComments) {
+            if (!pendingComments.isEmpty()) {
+                frame.section.setComments(key, new ArrayList<>(pendingComments));
+                pendingComments.clear();
+            }
+            firstKey = false;
+        }
+    }
+
+    @NotNull
+    private static Map<Object, Object> toMap(@NotNull final ConfigurationSection section) {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        for (String key : section.getKeys(false)) {
+            Object value = section.get(key);
+            map.put(key, value instanceof ConfigurationSection ? toMap((ConfigurationSection) value) : value);
+        }
+        return map;
+    }
+
+    @NotNull
+    private Frame getParent(@NotNull final Frame frame) {
+        boolean found = false;
+        for (Frame candidate : frames) {
+            if (found)
+                return candidate;
+            found = candidate == frame;
+        }
+        throw new IllegalStateException("frame has no parent");
+    }
+
+    private void deliver(@Nullable final Object value) {
+        Frame frame = frames.peek();
+        if (frame == null)
+            return;
+
+        if (frame.list != null) {
+            frame.list.add(value);
+        } else if (frame.section != null) {
+            String key = (String) frame.key;
+            frame.section.set(key, value);
+            frame.lastKey = key;
+        } else {
+            frame.map.put(frame.key, value);
+        }
+        frame.key = null;
+        frame.hasKey = false;
+    }
+
+    // =================================================================
+    // FRAMES
+    // =================================================================
+
+    private static final class Frame {
+
+        private @Nullable ConfigurationSection section;
+        private @Nullable Map<Object, Object> map;
+        private @Nullable List<Object> list;
+
+        private @Nullable Object key; // the key awaiting its value
+        private boolean hasKey = false;
+        private @Nullable String lastKey; // the last key which got a value (for inline comments)
+        private @Nullable String sectionKey; // the key of a section within its parent
+
+        @NotNull
+        static Frame section(@NotNull final ConfigurationSection section, @Nullable final String sectionKey) {
+            Frame frame = new Frame();
+            frame.section = section;
+            frame.sectionKey = sectionKey;
+            return frame;
+        }
+
+        @NotNull
+        static Frame map() {
+            Frame frame = new Frame();
+            frame.map = new LinkedHashMap<>();
+            return frame;
+        }
+
+        @NotNull
+        static Frame list() {
+            Frame frame = new Frame();
+            frame.list = new ArrayList<>();
+            return frame;
+        }
+    }
+
+    // =================================================================
+    // SCALARS
+    // =================================================================
+
+    /**
+     * Constructs scalars with SnakeYAML's own constructors, using fast paths for the most common types.
+     */
+    private static final class ScalarConstructor extends SafeConstructor {
+
+        static final Object UNSUPPORTED = new Object();
+
+        ScalarConstructor(@NotNull final LoaderOptions loaderOptions) {
+            super(loaderOptions);
+        }
+
+        @Nullable
+        Object construct(@NotNull final ScalarEvent event) {
+            String value = event.getValue();
+            String explicitTag = event.getTag();
+            Tag tag;
+            if (explicitTag == null || explicitTag.equals("!"))
+                tag = RESOLVER.resolve(NodeId.scalar, value, event.getImplicit().canOmitTagInPlainScalar());
+            else
+                tag = new Tag(explicitTag);
+
+            if (tag.equals(Tag.STR))
+                return value;
+            if (tag.equals(Tag.NULL))
+                return null;
+            if (tag.equals(Tag.INT)) {
+                Integer number = parseSimpleInt(value);
+                if (number != null)
+                    return number;
+            }
+
+            Construct construct = yamlConstructors.get(tag);
+            if (construct == null || tag.equals(Tag.MERGE))
+                return UNSUPPORTED;
+            return construct.construct(new ScalarNode(tag, value, event.getStartMark(), event.getEndMark(), event.getScalarStyle() == null ? DumperOptions.ScalarStyle.PLAIN : event.getScalarStyle()));
+        }
+
+        @Nullable
+        private static Integer parseSimpleInt(@NotNull final String value) {
+            int length = value.length();
+            int start = length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+            if (length - start == 0 || length - start > 9 || (value.charAt(start) == '0' && length - start > 1))
+                return null; // empty, might overflow or octal
+            for (int i = start; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9')
+                    return null;
+            }
+            return Integer.parseInt(value);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2019-2024 Alexander Schmid
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.alexqp.commons.dataHandler;
+
+import org.bukkit.configuration.file.YamlRepresenter;
+import org.jetbrains.annotations.NotNull;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.events.DocumentEndEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.ImplicitTuple;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+import org.yaml.snakeyaml.events.StreamStartEvent;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Emits a yml document entry by entry instead of representing the whole document at once.
+ * <p>Every value is represented on its own by Bukkit's {@link YamlRepresenter} and emitted right away, so only one entry is held in memory at a time.
+ * The output matches {@link org.bukkit.configuration.file.YamlConfiguration#saveToString()} for the same entries.
+ */
+final class YamlStreamWriter {
+
+    private final Writer writer;
+    private final YamlRepresenter representer;
+    private final Resolver resolver = new Resolver();
+    private final Emitter emitter;
+    private boolean started = false;
+
+    /**
+     * Constructs a stream writer and starts the yml stream.
+     * @param writer the writer
+     * @throws IOException if the output could not be written
+     */
+    YamlStreamWriter(@NotNull final Writer writer) throws IOException {
+        DumperOptions options = new DumperOptions();
+        options.setIndent(2);
+        options.setWidth(80);
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+
+        this.writer = writer;
+        this.representer = new YamlRepresenter(options);
+        representer.setDefaultFlowStyle(options.getDefaultFlowStyle());
+        representer.setDefaultScalarStyle(options.getDefaultScalarStyle());
+        this.emitter = new Emitter(writer, options);
+        emitter.emit(new StreamStartEvent(null, null));
+    }
+
+    /**
+     * Writes a top-level entry.
+     * <p>Note: Keys must be unique within the document.
+     * @param key the key
+     * @param value the value
+     * @throws IOException if the output could not be written
+     */
+    void write(@NotNull final String key, final Object value) throws IOException {
+        if (!started) {
+            emitter.emit(new DocumentStartEvent(null, null, false, null, null));
+            emitter.emit(new MappingStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+            started = true;
+        }
+        this.emit(representer.represent(key));
+        this.emit(representer.represent(value));
+    }
+
+    /**
+     * Ends the document and flushes the writer. An empty document results in no output at all.
+     * @throws IOException if the output could not be written
+     */
+    void finish() throws IOException {
+        if (started) {
+            emitter.emit(new MappingEndEvent(null, null));
+            emitter.emit(new DocumentEndEvent(null, null, false));
+        }
+        emitter.emit(new StreamEndEvent(null, null));
+        writer.flush();
+    }
+
+    // same events as org.yaml.snakeyaml.serializer.Serializer, without anchors
+    private void emit(@NotNull final Node node) throws IOException {
+        String tag = node.getTag().getValue();
+        if (node.getNodeId() == NodeId.scalar) {
+            ScalarNode scalar = (ScalarNode) node;
+            String value = scalar.getValue();
+            ImplicitTuple implicit = new ImplicitTuple(node.getTag().equals(resolver.resolve(NodeId.scalar, value, true)),
+                    node.getTag().equals(resolver.resolve(NodeId.scalar, value, false)));
+            emitter.emit(new ScalarEvent(null, tag, implicit, value, null, null, scalar.getScalarStyle()));
+        } else if (node.getNodeId() == NodeId.sequence) {
+            SequenceNode sequence = (SequenceNode) node;
+            boolean implicit = node.getTag().equals(resolver.resolve(NodeId.sequence, null, true));
+            emitter.emit(new SequenceStartEvent(null, tag, implicit, null, null, sequence.getFlowStyle()));
+            for (Node item : sequence.getValue()) {
+                this.emit(item);
+            }
+            emitter.emit(new SequenceEndEvent(null, null));
+        } else {
+            MappingNode mapping = (MappingNode) node;
+            boolean implicit = node.getTag().equals(resolver.resolve(NodeId.mapping, null, true));
+            emitter.emit(new MappingStartEvent(null, tag, implicit, null, null, mapping.getFlowStyle()));
+            for (NodeTuple tuple : mapping.getValue()) {
+                this.emit(tuple.getKeyNode());
+                this.emit(tuple.getValueNode());
+            }
+            emitter.emit(new MappingEndEvent(null, null));
+        }
+    }
+}